@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.components;
+
+import cloud.grabsky.bedrock.components.GlobalComponentSerializer.Snapshot;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.Nullable;
+
+import static net.kyori.adventure.text.Component.text;
+
+/**
+ * Compares rendering of placeholder-only messages through {@link GlobalComponentSerializer#substitute} against {@link CompiledTemplate} and plain {@link net.kyori.adventure.text.minimessage.MiniMessage}.
+ * Messages with other tags measure the cost of {@link GlobalComponentSerializer#substitute} rejecting the input, which is paid before falling back to {@link CompiledTemplate}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GlobalComponentSerializerBenchmark {
+
+    private static final String PLACEHOLDERS = "Player <player> has joined the game. There are now <online> players online.";
+    private static final String TAGGED = "<gray>Player <yellow><player><gray> has joined the game. There are now <online> players online.";
+
+    private final Snapshot snapshot = GlobalComponentSerializer.snapshot();
+
+    private final Map<String, Component> values = Map.of("player", text("Grabsky"), "online", text("17"));
+
+    private final TagResolver resolver = TagResolver.resolver(Placeholder.component("player", text("Grabsky")), Placeholder.component("online", text("17")));
+
+    @Benchmark
+    public Component placeholders_miniMessage() {
+        return snapshot.serializer().deserialize(PLACEHOLDERS, resolver);
+    }
+
+    @Benchmark
+    public Component placeholders_compiled() {
+        return CompiledTemplate.compile(PLACEHOLDERS, values.keySet(), snapshot).fill(values);
+    }
+
+    @Benchmark
+    public @Nullable Component placeholders_substitute() {
+        return GlobalComponentSerializer.substitute(snapshot, PLACEHOLDERS, values);
+    }
+
+    @Benchmark
+    public Component tagged_miniMessage() {
+        return snapshot.serializer().deserialize(TAGGED, resolver);
+    }
+
+    @Benchmark
+    public Component tagged_compiled() {
+        return CompiledTemplate.compile(TAGGED, values.keySet(), snapshot).fill(values);
+    }
+
+    @Benchmark
+    public @Nullable Component tagged_substitute() {
+        return GlobalComponentSerializer.substitute(snapshot, TAGGED, values);
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.inventory;
+
+import cloud.grabsky.bedrock.inventory.Panel.ClickAction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares slot-indexed array backing {@link Panel} click actions against {@link HashMap} keyed by slot, which was used before.
+ * Measured are the operations a panel performs most: dispatching clicks, and filling the whole inventory followed by clearing it, as templates do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PanelActionsBenchmark {
+
+    // Size of a double chest, which is the largest panel.
+    private static final int SIZE = 54;
+
+    private final ClickAction action = (event) -> { /* EMPTY */ };
+
+    // Clicked slots, in order. Mixes occupied and empty slots, as well as slots of the player inventory which are out of bounds of the panel.
+    private final int[] clicks = new int[256];
+
+    private final ClickAction[] array = new ClickAction[SIZE];
+
+    private final Map<Integer, ClickAction> map = new HashMap<>();
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < clicks.length; i++)
+            clicks[i] = (i * 31) % (SIZE + 36);
+        // Occupying every other slot.
+        for (int slot = 0; slot < SIZE; slot += 2) {
+            array[slot] = action;
+            map.put(slot, action);
+        }
+    }
+
+    @Benchmark
+    public void click_array(final Blackhole blackhole) {
+        for (final int slot : clicks)
+            blackhole.consume((slot >= 0 && slot < array.length) ? array[slot] : null);
+    }
+
+    @Benchmark
+    public void click_map(final Blackhole blackhole) {
+        for (final int slot : clicks)
+            blackhole.consume(map.get(slot));
+    }
+
+    @Benchmark
+    public ClickAction[] fill_array() {
+        final ClickAction[] actions = new ClickAction[SIZE];
+        // ...
+        for (int slot = 0; slot < SIZE; slot++)
+            actions[slot] = action;
+        Arrays.fill(actions, null);
+        return actions;
+    }
+
+    @Benchmark
+    public Map<Integer, ClickAction> fill_map() {
+        final Map<Integer, ClickAction> actions = new HashMap<>();
+        // ...
+        for (int slot = 0; slot < SIZE; slot++)
+            actions.put(slot, action);
+        actions.clear();
+        return actions;
+    }
+
+}
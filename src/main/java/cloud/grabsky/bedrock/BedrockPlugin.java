@@ -23,6 +23,7 @@
  */
 package cloud.grabsky.bedrock;
 
+import cloud.grabsky.bedrock.scheduler.TaskGroup;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import lombok.AccessLevel;
@@ -33,6 +34,11 @@ import lombok.Getter;
  */
 public abstract class BedrockPlugin extends JavaPlugin {
 
+    /**
+     * Name of {@link TaskGroup} holding tasks scheduled during last call to {@link BedrockPlugin#reload()}.
+     */
+    public static final String RELOAD_GROUP = "bedrock:reload";
+
     @Getter(AccessLevel.PUBLIC)
     protected BedrockScheduler bedrockScheduler;
 
@@ -41,6 +47,13 @@ public abstract class BedrockPlugin extends JavaPlugin {
         this.bedrockScheduler = new BedrockScheduler(this);
     }
 
+    @Override
+    public void onDisable() {
+        // Cancelling all tasks scheduled through BedrockScheduler.
+        if (bedrockScheduler != null)
+            bedrockScheduler.shutdown();
+    }
+
     /**
      * Defines "safe" plugin reload logic that can be called manually.
      *
@@ -48,6 +61,20 @@ public abstract class BedrockPlugin extends JavaPlugin {
      */
     public abstract boolean onReload();
 
+    /**
+     * Calls {@link BedrockPlugin#onReload()} within scope of {@link TaskGroup} named {@link BedrockPlugin#RELOAD_GROUP}. Tasks scheduled during previous reload,
+     * including tasks scheduled by these tasks, are cancelled beforehand, so tasks started under previous configuration do not stay alive.
+     *
+     * @apiNote Tasks scheduled through {@link BedrockPlugin#getBedrockScheduler()} within {@link BedrockPlugin#onReload()} join the group automatically.
+     *          Tasks which should survive next reload can be scheduled through {@link BedrockScheduler#detached()} instead.
+     */
+    public boolean reload() {
+        // Cancelling tasks scheduled during previous reload.
+        bedrockScheduler.cancelGroup(RELOAD_GROUP);
+        // Reloading within scope of a new group.
+        return bedrockScheduler.getGroup(RELOAD_GROUP).call(this::onReload);
+    }
+
     /**
      * Returns {@code true} if {@code BEDROCK_DEBUGGING} environment variable is set to {@code 1}.
      */
@@ -23,26 +23,164 @@
  */
 package cloud.grabsky.bedrock;
 
+import cloud.grabsky.bedrock.scheduler.BedrockTask;
+import cloud.grabsky.bedrock.scheduler.Instrumentation;
+import cloud.grabsky.bedrock.scheduler.PhaseTable;
+import cloud.grabsky.bedrock.scheduler.Priority;
+import cloud.grabsky.bedrock.scheduler.SchedulerBackend;
+import cloud.grabsky.bedrock.scheduler.SchedulerCore;
+import cloud.grabsky.bedrock.scheduler.TaskGroup;
+import cloud.grabsky.bedrock.scheduler.TaskOptions;
+import cloud.grabsky.bedrock.scheduler.TickMonitor;
+import cloud.grabsky.bedrock.scheduler.TimingWheel;
+import cloud.grabsky.bedrock.scheduler.WorkJob;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
-@RequiredArgsConstructor(access = AccessLevel.PUBLIC)
+/**
+ * {@link BedrockScheduler} schedules synchronous and asynchronous tasks of a {@link Plugin}.
+ * <p>
+ * Tasks are not registered to the Bukkit scheduler individually. Instead, they are kept in two {@link TimingWheel TimingWheels}, one for synchronous
+ * and one for asynchronous tasks, each driven by a single task of the {@link SchedulerBackend}. This makes scheduling and cancelling {@code O(1)}, regardless of number of tasks.
+ * <p>
+ * On Folia, synchronous tasks are executed on the global region thread. Tasks which access the world should be scheduled using overloads that take
+ * a {@link Location} or an {@link Entity}, so they are executed on the thread owning that region. On Paper, such tasks are executed on the main thread.
+ * <p>
+ * Asynchronous tasks are executed using {@link AsyncBackend} selected upon creation of the scheduler. To select backend used by {@link BedrockPlugin},
+ * replace {@link BedrockPlugin#getBedrockScheduler()} in {@link BedrockPlugin#onEnable()}.
+ * <p>
+ * Methods like {@link BedrockScheduler#named(String)} return views of the scheduler, which share its tasks and configuration but schedule tasks with different properties.
+ */
 public final class BedrockScheduler {
 
     @Getter(AccessLevel.PUBLIC)
     private final @NotNull Plugin plugin;
 
+    // State shared between this scheduler and all its views.
+    private final @NotNull SchedulerCore core;
+
+    // Properties of tasks scheduled through this view.
+    private final @NotNull TaskOptions options;
+
+    /**
+     * Creates new {@link BedrockScheduler} which executes asynchronous tasks using {@link AsyncBackend#BUKKIT}.
+     */
+    public BedrockScheduler(final @NotNull Plugin plugin) {
+        this(plugin, AsyncBackend.BUKKIT);
+    }
+
+    /**
+     * Creates new {@link BedrockScheduler} which executes asynchronous tasks using provided {@link AsyncBackend}.
+     */
+    public BedrockScheduler(final @NotNull Plugin plugin, final @NotNull AsyncBackend asyncBackend) {
+        this(plugin, asyncBackend, SchedulerBackend.of(plugin));
+    }
+
+    /**
+     * Creates new {@link BedrockScheduler} which executes asynchronous tasks using provided {@link AsyncBackend}, and drives its tasks using provided {@link SchedulerBackend}.
+     */
+    public BedrockScheduler(final @NotNull Plugin plugin, final @NotNull AsyncBackend asyncBackend, final @NotNull SchedulerBackend backend) {
+        this(plugin, new SchedulerCore(plugin, asyncBackend, backend), TaskOptions.DEFAULT);
+    }
+
+    private BedrockScheduler(final @NotNull Plugin plugin, final @NotNull SchedulerCore core, final @NotNull TaskOptions options) {
+        this.plugin = plugin;
+        this.core = core;
+        this.options = options;
+    }
+
+    /**
+     * Returns view of (this) {@link BedrockScheduler} which schedules tasks under provided name. Name is used to group execution statistics
+     * when instrumentation is enabled. See {@link BedrockScheduler#getInstrumentation()}.
+     */
+    public @NotNull BedrockScheduler named(final @NotNull String name) {
+        return new BedrockScheduler(plugin, core, options.withName(name));
+    }
+
+    /**
+     * Returns view of (this) {@link BedrockScheduler} which schedules tasks with provided {@link Priority}. Tasks have {@link Priority#NORMAL} priority by default.
+     * Periods of {@link Priority#DEFERRABLE} repeating tasks are stretched while server is throttled. See {@link BedrockScheduler#getTickMonitor()}.
+     */
+    public @NotNull BedrockScheduler prioritized(final @NotNull Priority priority) {
+        return new BedrockScheduler(plugin, core, options.withPriority(priority));
+    }
+
+    /**
+     * Returns view of (this) {@link BedrockScheduler} which schedules tasks under {@link TaskGroup} with provided name. Group is created in case it does not exist
+     * or has been cancelled. Tasks scheduled through a view of a group that has been cancelled since are cancelled right away.
+     */
+    public @NotNull BedrockScheduler group(final @NotNull String name) {
+        return new BedrockScheduler(plugin, core, options.withGroup(core.getGroup(name)));
+    }
+
+    /**
+     * Returns view of (this) {@link BedrockScheduler} which schedules tasks outside of group of the current scope, for example during {@link BedrockPlugin#reload()}.
+     * Meant for long-lived tasks of components created lazily, which should not be cancelled together with whatever scope they happen to be created in.
+     * Group provided through {@link BedrockScheduler#group(String)} is still respected.
+     */
+    public @NotNull BedrockScheduler detached() {
+        return new BedrockScheduler(plugin, core, options.detach());
+    }
+
+    /**
+     * Returns {@link TaskGroup} with provided name, creating it in case it does not exist or has been cancelled.
+     */
+    public @NotNull TaskGroup getGroup(final @NotNull String name) {
+        return core.getGroup(name);
+    }
+
+    /**
+     * Cancels {@link TaskGroup} with provided name and all its tasks. Returns {@code false} if there was no such group.
+     */
+    public boolean cancelGroup(final @NotNull String name) {
+        return core.cancelGroup(name);
+    }
+
+    /**
+     * Returns unmodifiable view of all {@link TaskGroup TaskGroups}, which can be used to query number of live tasks each of them holds.
+     */
+    public @NotNull Collection<TaskGroup> getGroups() {
+        return core.getGroups();
+    }
+
+    /**
+     * Returns {@link AsyncBackend} used to execute asynchronous tasks.
+     */
+    public @NotNull AsyncBackend getAsyncBackend() {
+        return core.getAsyncBackend();
+    }
+
+    /**
+     * Returns {@link SchedulerBackend} tasks are driven with.
+     */
+    public @NotNull SchedulerBackend getBackend() {
+        return core.getBackend();
+    }
+
     /**
      * Schedules a synchronous task to run after {@code delay} of ticks has passed.
      *
@@ -50,7 +188,7 @@ public final class BedrockScheduler {
      * @param task a task
      */
     public void run(final long delay, final @NotNull Consumer<BukkitTask> task) {
-        plugin.getServer().getScheduler().runTaskLater(plugin, task, delay);
+        this.runTask(delay, task);
     }
 
     /**
@@ -59,7 +197,33 @@ public final class BedrockScheduler {
      * @param delay ticks to wait before executing the task
      */
     public void runAsync(final long delay, final @NotNull Consumer<BukkitTask> task) {
-        plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, task, delay);
+        this.runTaskAsync(delay, task);
+    }
+
+    /**
+     * Schedules a synchronous task to run after {@code delay} of ticks has passed. Returns {@link BukkitTask} which can be used to cancel it.
+     *
+     * @param delay ticks to wait before executing the task
+     * @param task a task
+     */
+    public @NotNull BukkitTask runTask(final long delay, final @NotNull Consumer<BukkitTask> task) {
+        return this.schedule(true, delay, -1L, (self) -> {
+            task.accept(self);
+            return false;
+        });
+    }
+
+    /**
+     * Schedules an asynchronous task to run after {@code delay} of ticks has passed. Returns {@link BukkitTask} which can be used to cancel it.
+     *
+     * @param delay ticks to wait before executing the task
+     * @param task a task
+     */
+    public @NotNull BukkitTask runTaskAsync(final long delay, final @NotNull Consumer<BukkitTask> task) {
+        return this.schedule(false, delay, -1L, (self) -> {
+            task.accept(self);
+            return false;
+        });
     }
 
     /**
@@ -71,20 +235,7 @@ public final class BedrockScheduler {
      * @param cycles max iterations
      */
     public @NotNull BukkitTask repeat(final long delay, final long period, final long cycles, final @NotNull Predicate<Integer> task) {
-        return new BukkitRunnable() {
-            int cycle = 1;
-
-            @Override
-            public void run() {
-                // Executing the code and cancelling the task if 'false' is returned.
-                if (task.test(cycle) == false)
-                    this.cancel();
-                // Cancelling the task if iterations limit is reached.
-                if (cycle++ > cycles)
-                    this.cancel();
-            }
-
-        }.runTaskTimer(plugin, delay, period);
+        return this.schedule(true, delay, period, new Cycles(cycles, (self, cycle) -> task.test(cycle)));
     }
 
     /**
@@ -96,20 +247,10 @@ public final class BedrockScheduler {
      * @param cycles max iterations
      */
     public @NotNull BukkitTask repeat(final long delay, final long period, final long cycles, final @NotNull BiPredicate<BukkitRunnable, Integer> task) {
-        return new BukkitRunnable() {
-            int cycle = 1;
-
-            @Override
-            public void run() {
-                // Executing the code and cancelling the task if 'false' is returned.
-                if (task.test(this, cycle) == false)
-                    this.cancel();
-                // Cancelling the task if iterations limit is reached.
-                if (cycle++ > cycles)
-                    this.cancel();
-            }
-
-        }.runTaskTimer(plugin, delay, period);
+        final TaskRunnable runnable = new TaskRunnable();
+        // ...
+        runnable.cycles = new Cycles(cycles, (self, cycle) -> task.test(runnable.bind(self), cycle));
+        return runnable.task = this.schedule(true, delay, period, runnable.cycles);
     }
 
     /**
@@ -121,20 +262,7 @@ public final class BedrockScheduler {
      * @param cycles max iterations
      */
     public @NotNull BukkitTask repeatAsync(final long delay, final long period, final long cycles, final @NotNull Predicate<Integer> task) {
-        return new BukkitRunnable() {
-            int cycle = 1;
-
-            @Override
-            public void run() {
-                // Executing the code and cancelling the task if 'false' is returned.
-                if (task.test(cycle) == false)
-                    this.cancel();
-                // Cancelling the task if iterations limit is reached.
-                if (cycle++ > cycles)
-                    this.cancel();
-            }
-
-        }.runTaskTimerAsynchronously(plugin, delay, period);
+        return this.schedule(false, delay, period, new Cycles(cycles, (self, cycle) -> task.test(cycle)));
     }
 
     /**
@@ -146,20 +274,445 @@ public final class BedrockScheduler {
      * @param cycles max iterations
      */
     public @NotNull BukkitTask repeatAsync(final long delay, final long period, final long cycles, final @NotNull BiPredicate<BukkitRunnable, Integer> task) {
-        return new BukkitRunnable() {
-            int cycle = 1;
-
-            @Override
-            public void run() {
-                // Executing the code and cancelling the task if 'false' is returned.
-                if (task.test(this, cycle) == false)
-                    this.cancel();
-                // Cancelling the task if iterations limit is reached.
-                if (cycle++ > cycles)
-                    this.cancel();
-            }
-
-        }.runTaskTimerAsynchronously(plugin, delay, period);
+        final TaskRunnable runnable = new TaskRunnable();
+        // ...
+        runnable.cycles = new Cycles(cycles, (self, cycle) -> task.test(runnable.bind(self), cycle));
+        return runnable.task = this.schedule(false, delay, period, runnable.cycles);
+    }
+
+    /**
+     * Schedules a synchronous task to run after {@code delay} of ticks has passed, on the thread owning region of provided {@link Location}.
+     *
+     * @param location location the task operates on
+     * @param delay ticks to wait before executing the task
+     * @param task a task
+     */
+    public @NotNull BukkitTask run(final @NotNull Location location, final long delay, final @NotNull Consumer<BukkitTask> task) {
+        return core.schedule(location, delay, -1L, (self) -> {
+            task.accept(self);
+            return false;
+        }, options);
+    }
+
+    /**
+     * Schedules a synchronous task to run repeatedly until iterations / cycles limit {@code (cycles)} is reached, on the thread owning region of provided {@link Location}.
+     * Returning {@code false} inside the {@link Predicate} {@code (task)} cancels execution of next iteration(s).
+     *
+     * @param location location the task operates on
+     * @param delay ticks to wait before starting the task
+     * @param period ticks to wait in-between tasks
+     * @param cycles max iterations
+     */
+    public @NotNull BukkitTask repeat(final @NotNull Location location, final long delay, final long period, final long cycles, final @NotNull Predicate<Integer> task) {
+        return core.schedule(location, delay, period, new Cycles(cycles, (self, cycle) -> task.test(cycle)), options);
+    }
+
+    /**
+     * Schedules a synchronous task to run after {@code delay} of ticks has passed, on the thread owning provided {@link Entity}. Task is not executed
+     * if the entity is removed in the meantime; {@code (retired)} is executed instead. Returns {@code null} if entity has been removed already.
+     *
+     * @param entity entity the task operates on
+     * @param delay ticks to wait before executing the task
+     * @param task a task
+     * @param retired code executed in case entity is removed before task is executed, or {@code null}
+     */
+    public @Nullable BukkitTask run(final @NotNull Entity entity, final long delay, final @NotNull Consumer<BukkitTask> task, final @Nullable Runnable retired) {
+        return core.schedule(entity, delay, -1L, (self) -> {
+            task.accept(self);
+            return false;
+        }, retired, options);
+    }
+
+    /**
+     * Schedules a synchronous task to run repeatedly until iterations / cycles limit {@code (cycles)} is reached, on the thread owning provided {@link Entity}.
+     * Returning {@code false} inside the {@link Predicate} {@code (task)} cancels execution of next iteration(s). Task is stopped once the entity is removed,
+     * and {@code (retired)} is executed. Returns {@code null} if entity has been removed already.
+     *
+     * @param entity entity the task operates on
+     * @param delay ticks to wait before starting the task
+     * @param period ticks to wait in-between tasks
+     * @param cycles max iterations
+     * @param retired code executed once entity is removed, or {@code null}
+     */
+    public @Nullable BukkitTask repeat(final @NotNull Entity entity, final long delay, final long period, final long cycles, final @NotNull Predicate<Integer> task, final @Nullable Runnable retired) {
+        return core.schedule(entity, delay, period, new Cycles(cycles, (self, cycle) -> task.test(cycle)), retired, options);
+    }
+
+    /**
+     * Schedules a synchronous task to run once {@code (delay)} ticks pass since the last call with the same key. A burst of calls results in a single execution
+     * of the task provided by the last call. Keys are compared using {@link Object#equals(Object)}.
+     *
+     * @param key key identifying the task, for example {@link java.util.UUID UUID} of a player
+     * @param delay ticks to wait after the last call
+     * @param task a task
+     */
+    public void debounce(final @NotNull Object key, final long delay, final @NotNull Runnable task) {
+        core.getKeyedTasks().debounce(true, key, delay, task, options);
+    }
+
+    /**
+     * Schedules an asynchronous task to run once {@code (delay)} ticks pass since the last call with the same key.
+     * See {@link BedrockScheduler#debounce(Object, long, Runnable)}.
+     */
+    public void debounceAsync(final @NotNull Object key, final long delay, final @NotNull Runnable task) {
+        core.getKeyedTasks().debounce(false, key, delay, task, options);
+    }
+
+    /**
+     * Schedules a synchronous task to run on next tick, unless one with the same key has run within last {@code (period)} ticks. Calls made in-between
+     * are collapsed into a single execution of the task provided by the last of them, at the end of the period. Keys are compared using {@link Object#equals(Object)}.
+     *
+     * @param key key identifying the task, for example {@link java.util.UUID UUID} of a player
+     * @param period min ticks between executions
+     * @param task a task
+     */
+    public void throttle(final @NotNull Object key, final long period, final @NotNull Runnable task) {
+        core.getKeyedTasks().throttle(true, key, period, task, options);
+    }
+
+    /**
+     * Schedules an asynchronous task to run on next tick, unless one with the same key has run within last {@code (period)} ticks.
+     * See {@link BedrockScheduler#throttle(Object, long, Runnable)}.
+     */
+    public void throttleAsync(final @NotNull Object key, final long period, final @NotNull Runnable task) {
+        core.getKeyedTasks().throttle(false, key, period, task, options);
+    }
+
+    /**
+     * Returns {@link Executor} which executes tasks on the main thread. Tasks submitted during a tick are executed together, in one batch,
+     * once the synchronous driver runs. Tasks submitted by other tasks of the batch are executed on next tick.
+     */
+    public @NotNull Executor mainThreadExecutor() {
+        core.start();
+        // ...
+        return core.getMainThreadExecutor();
+    }
+
+    /**
+     * Returns {@link Executor} which executes tasks asynchronously, using {@link AsyncBackend} of (this) {@link BedrockScheduler}.
+     */
+    public @NotNull Executor asyncExecutor() {
+        core.start();
+        // ...
+        return core.getAsyncExecutorView();
+    }
+
+    /**
+     * Returns {@link CompletableFuture} completed with result of provided {@link Supplier}, which is called asynchronously.
+     */
+    public <T> @NotNull CompletableFuture<T> supplyAsync(final @NotNull Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, this.asyncExecutor());
+    }
+
+    /**
+     * Returns {@link CompletableFuture} completed with result of provided {@link Supplier}, which is called on the main thread.
+     */
+    public <T> @NotNull CompletableFuture<T> supplySync(final @NotNull Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, this.mainThreadExecutor());
+    }
+
+    /**
+     * Returns {@link CompletableFuture} completed with result of provided {@link Function} applied to result of provided {@link CompletableFuture} {@code (future)}.
+     * Function is called on the main thread. If called from the main thread when {@code (future)} is already completed, function is called right away.
+     * On Folia, main thread is the global region thread.
+     */
+    public <T, R> @NotNull CompletableFuture<R> thenSync(final @NotNull CompletableFuture<T> future, final @NotNull Function<? super T, ? extends R> function) {
+        // Applying right away, as there is no need to switch threads.
+        if (future.isDone() == true && core.getBackend().isGlobalThread() == true)
+            return future.thenApply(function);
+        // Applying on the main thread otherwise.
+        return future.thenApplyAsync(function, this.mainThreadExecutor());
+    }
+
+    /**
+     * Returns {@link CompletableFuture} completed with result of provided {@link Function} applied to result of provided {@link CompletableFuture} {@code (future)}.
+     * Function is called asynchronously.
+     */
+    public <T, R> @NotNull CompletableFuture<R> thenAsync(final @NotNull CompletableFuture<T> future, final @NotNull Function<? super T, ? extends R> function) {
+        return future.thenApplyAsync(function, this.asyncExecutor());
+    }
+
+    /**
+     * Calls all provided suppliers asynchronously, in parallel, and returns {@link CompletableFuture} completed with their results, in the same order.
+     * Returned future is completed on the main thread, once all suppliers are done, so dependent stages that are not {@code async} run on the main thread too.
+     * Returned future is completed exceptionally if any of the suppliers failed.
+     */
+    public <T> @NotNull CompletableFuture<List<T>> supplyAllAsync(final @NotNull Collection<? extends Supplier<? extends T>> suppliers) {
+        final List<CompletableFuture<? extends T>> futures = new ArrayList<>(suppliers.size());
+        // Fanning out...
+        for (final Supplier<? extends T> supplier : suppliers)
+            futures.add(CompletableFuture.supplyAsync(supplier, this.asyncExecutor()));
+        // Joining results on the main thread, once all suppliers are done.
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenApplyAsync((ignored) -> {
+            final List<T> results = new ArrayList<>(futures.size());
+            // All futures are completed at this point, so joining does not block.
+            for (final CompletableFuture<? extends T> future : futures)
+                results.add(future.join());
+            // ...
+            return results;
+        }, this.mainThreadExecutor());
+    }
+
+    /**
+     * Submits job which processes provided units on the main thread, within a time budget each tick, until there are no more units.
+     * See {@link BedrockScheduler#getWorkBudget()}.
+     *
+     * @param units units to process; iterated on the main thread
+     * @param total total number of units, used to report progress, or {@code -1} if not known
+     * @param priority priority of the job; jobs of higher priority are processed first, and jobs of lower priority are deferred while server is throttled
+     * @param worker code which processes a single unit
+     */
+    public <T> @NotNull WorkJob<T> process(final @NotNull Iterator<? extends T> units, final long total, final @NotNull Priority priority, final @NotNull Consumer<? super T> worker) {
+        final WorkJob<T> job = new WorkJob<>(priority, units, total, worker);
+        // Starting the driver in case it's not running yet.
+        core.start();
+        // ...
+        core.getWorkQueue().submit(job);
+        return job;
+    }
+
+    /**
+     * Submits job which processes provided units on the main thread, within a time budget each tick, until there are no more units.
+     * See {@link BedrockScheduler#process(Iterator, long, Priority, Consumer)}.
+     */
+    public <T> @NotNull WorkJob<T> process(final @NotNull Collection<? extends T> units, final @NotNull Priority priority, final @NotNull Consumer<? super T> worker) {
+        return this.process(units.iterator(), units.size(), priority, worker);
+    }
+
+    /**
+     * Submits job which processes provided units on the main thread, within a time budget each tick, until there are no more units.
+     * Stream is consumed lazily, on the main thread. See {@link BedrockScheduler#process(Iterator, long, Priority, Consumer)}.
+     */
+    public <T> @NotNull WorkJob<T> process(final @NotNull Stream<? extends T> units, final @NotNull Priority priority, final @NotNull Consumer<? super T> worker) {
+        final Spliterator<? extends T> spliterator = units.spliterator();
+        // ...
+        return this.process(Spliterators.iterator(spliterator), spliterator.getExactSizeIfKnown(), priority, worker);
+    }
+
+    /**
+     * Returns time, in nanoseconds, jobs submitted using {@link BedrockScheduler#process(Iterator, long, Priority, Consumer)} can take each tick. Defaults to 2 milliseconds.
+     */
+    public long getWorkBudget() {
+        return core.getWorkBudget();
+    }
+
+    /**
+     * Sets time, in nanoseconds, jobs can take each tick. When adaptive budget is enabled, this is the budget used at average tick time of 25 milliseconds.
+     */
+    public void setWorkBudget(final long workBudget) {
+        core.setWorkBudget(workBudget);
+    }
+
+    /**
+     * Returns {@code true} if work budget is adapted to average tick time. Enabled by default.
+     */
+    public boolean isAdaptiveWorkBudget() {
+        return core.isAdaptiveWorkBudget();
+    }
+
+    /**
+     * Sets whether work budget should be adapted to average tick time. When enabled, budget grows up to twice its value when server has spare time,
+     * and shrinks down to a quarter of its value when server is close to falling behind.
+     */
+    public void setAdaptiveWorkBudget(final boolean adaptiveWorkBudget) {
+        core.setAdaptiveWorkBudget(adaptiveWorkBudget);
+    }
+
+    /**
+     * Returns {@code true} if synchronous repeating tasks are spread across ticks. Disabled by default. See {@link BedrockScheduler#setLoadSpreading(boolean)}.
+     */
+    public boolean isLoadSpreading() {
+        return core.isLoadSpreading();
+    }
+
+    /**
+     * Sets whether synchronous repeating tasks should be spread across ticks. When enabled, first execution of each task scheduled afterwards is delayed by
+     * less than one period, so it lands on the tick with the lowest number of tasks of the same period. Periods of tasks stay the same.
+     * <p>
+     * Applies to tasks with period of up to {@link PhaseTable#MAX_PERIOD} ticks.
+     */
+    public void setLoadSpreading(final boolean loadSpreading) {
+        core.setLoadSpreading(loadSpreading);
+    }
+
+    /**
+     * Returns number of spread tasks with provided period in each phase. Index of the array is the phase, which is tick modulo period.
+     */
+    public int @NotNull [] getPhaseLoad(final long period) {
+        return core.getPhaseTable().getLoad(period);
+    }
+
+    /**
+     * Returns number of spread tasks due in provided number of ticks from now. Tasks scheduled while load spreading was disabled are not counted.
+     */
+    public int getTickLoad(final long ticks) {
+        return core.getPhaseTable().getTickLoad(core.getSyncWheel().getTick() + ticks);
+    }
+
+    /**
+     * Returns {@link Instrumentation} of (this) {@link BedrockScheduler}, which can be used to enable instrumentation and query execution statistics.
+     * Statistics are grouped by name of the view tasks were scheduled through, or by name of the calling class for tasks scheduled with no name.
+     */
+    public @NotNull Instrumentation getInstrumentation() {
+        return core.getInstrumentation();
+    }
+
+    /**
+     * Returns {@link TickMonitor} of (this) {@link BedrockScheduler}, which can be used to configure throttling thresholds and query current throttling state.
+     */
+    public @NotNull TickMonitor getTickMonitor() {
+        return core.getTickMonitor();
+    }
+
+    /**
+     * Starts logging report of {@code (count)} tasks with the highest total execution time every {@code (period)} ticks. Period of {@code 0} stops the report.
+     * Report is logged only while instrumentation is enabled.
+     */
+    public void setSlowTaskReport(final long period, final int count) {
+        core.setReport(period, count);
+    }
+
+    /**
+     * Returns number of tasks waiting to be executed, both synchronous and asynchronous.
+     */
+    public int getPendingCount() {
+        return core.getPendingCount();
+    }
+
+    /**
+     * Cancels all tasks scheduled by (this) {@link BedrockScheduler} and its views, and stops the drivers. Running asynchronous tasks of {@link AsyncBackend#VIRTUAL_THREADS}
+     * are interrupted. Tasks submitted to {@link BedrockScheduler#mainThreadExecutor()} are executed right away, so futures depending on them are completed.
+     * Tasks scheduled afterwards start the drivers again.
+     *
+     * @apiNote This method should be called from the main thread, as main thread continuations are executed on the calling thread.
+     */
+    public void shutdown() {
+        core.shutdown();
+    }
+
+    private @NotNull BedrockTask schedule(final boolean sync, final long delay, final long period, final @NotNull BedrockTask.Body body) {
+        return core.schedule(sync, delay, period, body, options);
+    }
+
+    /**
+     * Defines how asynchronous tasks are executed.
+     */
+    public enum AsyncBackend {
+
+        /**
+         * Tasks are executed using a thread pool owned by the scheduler, driven by a single repeating asynchronous task of Bukkit. Delays and periods are measured in server ticks.
+         * On Folia, the driver is a task of its asynchronous scheduler instead, with one tick being 50 milliseconds.
+         */
+        BUKKIT,
+
+        /**
+         * Each execution of a task runs on a new virtual thread, which makes this backend suitable for blocking I/O. Delays and periods are measured
+         * by a lightweight timer, with one tick being 50 milliseconds regardless of server performance.
+         */
+        VIRTUAL_THREADS
+
+    }
+
+    /**
+     * Body of repeating tasks which stops them once iterations / cycles limit is reached.
+     */
+    private static final class Cycles implements BedrockTask.Body {
+
+        private final long cycles;
+        private final @NotNull BiPredicate<BedrockTask, Integer> task;
+
+        private int cycle = 1;
+
+        private Cycles(final long cycles, final @NotNull BiPredicate<BedrockTask, Integer> task) {
+            this.cycles = cycles;
+            this.task = task;
+        }
+
+        @Override
+        public boolean run(final @NotNull BedrockTask self) {
+            // Executing the code and cancelling the task if 'false' is returned.
+            if (task.test(self, cycle) == false)
+                return false;
+            // Cancelling the task if iterations limit is reached.
+            return cycle++ <= cycles;
+        }
+
+    }
+
+    /**
+     * {@link BukkitRunnable} passed to {@link BiPredicate} tasks. Delegates to the underlying {@link BedrockTask}, as it's not registered to the Bukkit scheduler.
+     * Behaves like a {@link BukkitRunnable} that has already been scheduled: {@link TaskRunnable#run()} executes a single iteration, and scheduling it again is refused.
+     */
+    private static final class TaskRunnable extends BukkitRunnable {
+
+        private volatile BedrockTask task;
+
+        // Body of the task. Assigned before task is scheduled.
+        private Cycles cycles;
+
+        // Binds this runnable to provided task. Called before each execution, in case it happens before task is assigned by the scheduling thread.
+        private @NotNull TaskRunnable bind(final @NotNull BedrockTask task) {
+            this.task = task;
+            return this;
+        }
+
+        @Override
+        public void run() {
+            // Executing a single iteration, same as the scheduler would. Task is cancelled once iteration asks to stop.
+            if (cycles.run(task) == false)
+                task.cancel();
+        }
+
+        @Override
+        public synchronized @NotNull BukkitTask runTask(final @NotNull Plugin plugin) {
+            throw this.alreadyScheduled();
+        }
+
+        @Override
+        public synchronized @NotNull BukkitTask runTaskAsynchronously(final @NotNull Plugin plugin) {
+            throw this.alreadyScheduled();
+        }
+
+        @Override
+        public synchronized @NotNull BukkitTask runTaskLater(final @NotNull Plugin plugin, final long delay) {
+            throw this.alreadyScheduled();
+        }
+
+        @Override
+        public synchronized @NotNull BukkitTask runTaskLaterAsynchronously(final @NotNull Plugin plugin, final long delay) {
+            throw this.alreadyScheduled();
+        }
+
+        @Override
+        public synchronized @NotNull BukkitTask runTaskTimer(final @NotNull Plugin plugin, final long delay, final long period) {
+            throw this.alreadyScheduled();
+        }
+
+        @Override
+        public synchronized @NotNull BukkitTask runTaskTimerAsynchronously(final @NotNull Plugin plugin, final long delay, final long period) {
+            throw this.alreadyScheduled();
+        }
+
+        // Same exception BukkitRunnable throws when scheduled twice.
+        private @NotNull IllegalStateException alreadyScheduled() {
+            return new IllegalStateException("Already scheduled as " + task.getTaskId());
+        }
+
+        @Override
+        public synchronized boolean isCancelled() {
+            return task.isCancelled();
+        }
+
+        @Override
+        public synchronized void cancel() {
+            task.cancel();
+        }
+
+        @Override
+        public synchronized int getTaskId() {
+            return task.getTaskId();
+        }
+
     }
 
 }
@@ -24,6 +24,8 @@
 package cloud.grabsky.bedrock;
 
 import cloud.grabsky.bedrock.components.Message;
+import cloud.grabsky.bedrock.components.MessageCoalescer;
+import cloud.grabsky.bedrock.components.MessageDispatcher;
 import net.kyori.adventure.audience.Audience;
 import org.bukkit.entity.Player;
 
@@ -63,4 +65,20 @@ public interface Sendable {
      */
     void broadcast();
 
+    /**
+     * Returns asynchronous view of (this) {@link Sendable}. Messages are parsed on worker threads of provided {@link MessageDispatcher}
+     * and delivered on the main thread, in one batch per tick.
+     */
+    default @NotNull Sendable async(final @NotNull MessageDispatcher dispatcher) {
+        return dispatcher.wrap(this);
+    }
+
+    /**
+     * Returns coalescing view of (this) {@link Sendable}. Only the latest action bar and title sent to each {@link Audience} during a tick
+     * are parsed and sent once that tick ends, via provided {@link MessageCoalescer}.
+     */
+    default @NotNull Sendable coalesced(final @NotNull MessageCoalescer coalescer) {
+        return coalescer.wrap(this);
+    }
+
 }
@@ -0,0 +1,225 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.components;
+
+import cloud.grabsky.bedrock.components.GlobalComponentSerializer.Snapshot;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.minimessage.Context;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link CompiledTemplate} is a {@link MiniMessage} template parsed once into a reusable {@link Component} tree.
+ * Placeholders are kept as slots inside the tree and are filled-in each time {@link CompiledTemplate#fill(Map)} is called.
+ * <p>
+ * Only tags named after placeholders provided at compile time become slots. Every other tag is handled by {@link MiniMessage} as usual,
+ * so unknown tags are kept as text, the same way they would be when parsing with placeholder resolvers.
+ * <p>
+ * Compiled templates are cached by their text and names of their placeholders, and invalidated once {@link GlobalComponentSerializer#version()} changes.
+ */
+@Internal
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CompiledTemplate {
+
+    // Prefix of the translation key used to mark placeholder slots inside the parsed tree.
+    private static final String SLOT_PREFIX = "\u0000bedrock:slot/";
+
+    // Maximum number of templates kept in the cache. Least recently used templates are evicted first.
+    private static final int CACHE_CAPACITY = 1024;
+
+    private static final Map<Key, CompiledTemplate> CACHE = new LinkedHashMap<>(CACHE_CAPACITY, 0.75F, true) {
+
+        @Override
+        protected boolean removeEldestEntry(final @NotNull Map.Entry<Key, CompiledTemplate> eldest) {
+            return this.size() > CACHE_CAPACITY;
+        }
+
+    };
+
+    /**
+     * Returns version of {@link GlobalComponentSerializer} this template was compiled with.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final int version;
+
+    /**
+     * Returns names of placeholders this template was compiled with.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final @NotNull Set<String> names;
+
+    private final @NotNull Component tree;
+
+    // Whether the tree contains at least one slot. Templates with no slots are returned as-is.
+    private final boolean slots;
+
+    /**
+     * Returns {@link CompiledTemplate} of provided {@link String} {@code (template)} with placeholders of provided names, compiling it in case it's not cached yet.
+     */
+    public static @NotNull CompiledTemplate compile(final @NotNull String template, final @NotNull Set<String> names) {
+        return compile(template, names, GlobalComponentSerializer.snapshot());
+    }
+
+    /**
+     * Returns {@link CompiledTemplate} of provided {@link String} {@code (template)} with placeholders of provided names, compiled with provided {@link Snapshot}.
+     * Template is compiled in case it's not cached yet.
+     */
+    public static @NotNull CompiledTemplate compile(final @NotNull String template, final @NotNull Set<String> names, final @NotNull Snapshot snapshot) {
+        // Looking up with provided names as-is. Sets are equal regardless of their implementation, so names are copied only when inserting.
+        final Key key = new Key(template, names);
+        // Returning cached template, unless compiled with a different version of the serializer.
+        synchronized (CACHE) {
+            final @Nullable CompiledTemplate existing = CACHE.get(key);
+            // ...
+            if (existing != null && existing.version == snapshot.version())
+                return existing;
+        }
+        // Parsing the template. This is done outside the lock as parsing is the expensive part.
+        final CompiledTemplate compiled = parse(template, names, snapshot);
+        // Caching the result, unless a template compiled with a newer serializer has been cached in the meantime.
+        synchronized (CACHE) {
+            final @Nullable CompiledTemplate existing = CACHE.get(key);
+            // ...
+            if (existing == null || existing.version < compiled.version)
+                CACHE.put(new Key(template, compiled.names), compiled);
+        }
+        return compiled;
+    }
+
+    // Returns CompiledTemplate of provided template with placeholders of provided names, compiled with provided Snapshot, bypassing the cache.
+    private static @NotNull CompiledTemplate parse(final @NotNull String template, final @NotNull Set<String> names, final @NotNull Snapshot snapshot) {
+        final Set<String> copy = Set.copyOf(names);
+        final Component tree = snapshot.serializer().deserialize(template, new Slots(copy));
+        // ...
+        return new CompiledTemplate(snapshot.version(), copy, tree, containsSlots(tree));
+    }
+
+    /**
+     * Returns {@link Component} of this template, with slots replaced by values from provided {@link Map} {@code (values)}.
+     *
+     * @throws IllegalArgumentException if value of any placeholder this template was compiled with is missing
+     */
+    public @NotNull Component fill(final @NotNull Map<String, Component> values) {
+        // Returning tree as-is when there is nothing to fill.
+        if (slots == false)
+            return tree;
+        // Filling-in the slots and compacting the result, same as MiniMessage's default post-processor does.
+        return fill(tree, values).compact();
+    }
+
+    private static @NotNull Component fill(final @NotNull Component component, final @NotNull Map<String, Component> values) {
+        // Replacing the slot with provided value.
+        if (component instanceof TranslatableComponent translatable && translatable.key().startsWith(SLOT_PREFIX) == true) {
+            final String name = translatable.key().substring(SLOT_PREFIX.length());
+            final @Nullable Component value = values.get(name);
+            // Only names template was compiled with become slots, so value can be missing only if caller passed different placeholders.
+            if (value == null)
+                throw new IllegalArgumentException("Missing value of placeholder '" + name + "'.");
+            // ...
+            return value;
+        }
+        Component result = component;
+        // Filling-in slots of the hover text.
+        final @Nullable HoverEvent<?> hover = component.style().hoverEvent();
+        if (hover != null && hover.action() == HoverEvent.Action.SHOW_TEXT) {
+            final Component value = (Component) hover.value();
+            final Component filled = fill(value, values);
+            // Updating the style only when something has actually changed.
+            if (filled != value)
+                result = result.style(result.style().hoverEvent(HoverEvent.showText(filled)));
+        }
+        // Filling-in slots of the children. List is copied lazily, only when at least one child has changed.
+        final List<Component> children = component.children();
+        @Nullable List<Component> filledChildren = null;
+        for (int i = 0; i < children.size(); i++) {
+            final Component child = children.get(i);
+            final Component filled = fill(child, values);
+            // ...
+            if (filled != child) {
+                if (filledChildren == null)
+                    filledChildren = new ArrayList<>(children);
+                filledChildren.set(i, filled);
+            }
+        }
+        // ...
+        return (filledChildren != null) ? result.children(filledChildren) : result;
+    }
+
+    private static boolean containsSlots(final @NotNull Component component) {
+        if (component instanceof TranslatableComponent translatable && translatable.key().startsWith(SLOT_PREFIX) == true)
+            return true;
+        // Checking the hover text.
+        final @Nullable HoverEvent<?> hover = component.style().hoverEvent();
+        if (hover != null && hover.action() == HoverEvent.Action.SHOW_TEXT && containsSlots((Component) hover.value()) == true)
+            return true;
+        // Checking the children.
+        for (final Component child : component.children())
+            if (containsSlots(child) == true)
+                return true;
+        // ...
+        return false;
+    }
+
+    private record Key(@NotNull String template, @NotNull Set<String> names) { /* EMPTY */ }
+
+    /**
+     * {@link TagResolver} which turns tags of provided names into placeholder slots. Like placeholder resolvers, it ignores arguments and closing tags.
+     */
+    private record Slots(@NotNull Set<String> names) implements TagResolver {
+
+        @Override
+        public @Nullable Tag resolve(final @NotNull String name, final @NotNull ArgumentQueue arguments, final @NotNull Context ctx) {
+            // Leaving tags that are not placeholders for MiniMessage to handle.
+            if (names.contains(name) == false)
+                return null;
+            // Inserting slot marker in place of the tag.
+            return Tag.selfClosingInserting(Component.translatable(SLOT_PREFIX + name));
+        }
+
+        @Override
+        public boolean has(final @NotNull String name) {
+            return names.contains(name);
+        }
+
+    }
+
+}
@@ -0,0 +1,249 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.components;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@link ComponentCache} memoises serialized forms of {@link Component Components}, so repeated serialization of the same instance is done only once.
+ * <p>
+ * Entries are keyed by identity and hold their {@link Component} weakly. Entry is removed shortly after its {@link Component} is garbage-collected,
+ * or once number of entries exceeds {@link ComponentCache#getCapacity() capacity}, in which case the least recently used entry is evicted.
+ * Lookups do not allocate weak references; these are created only when a new entry is inserted.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ComponentCache {
+
+    private static final ReferenceQueue<Component> QUEUE = new ReferenceQueue<>();
+
+    // Entries in access order. Guarded by itself, same as the template cache of CompiledTemplate. Keys are either Key or Probe; only Key is ever stored.
+    private static final Map<Object, Entry> ENTRIES = new LinkedHashMap<>(256, 0.75F, true) {
+
+        @Override
+        protected boolean removeEldestEntry(final @NotNull Map.Entry<Object, Entry> eldest) {
+            return this.size() > capacity;
+        }
+
+    };
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    /**
+     * Returns max number of entries kept in the cache. Defaults to {@code 4096}.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private static volatile int capacity = 4096;
+
+    /**
+     * Sets max number of entries kept in the cache. Least recently used entries above that limit are evicted right away.
+     */
+    public static void setCapacity(final int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be greater than 0.");
+        // ...
+        ComponentCache.capacity = capacity;
+        // Evicting entries above the new limit.
+        synchronized (ENTRIES) {
+            final Iterator<Object> iterator = ENTRIES.keySet().iterator();
+            // ...
+            while (ENTRIES.size() > capacity && iterator.hasNext() == true) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns {@link Stats} of the cache, consisting of number of hits, misses and entries.
+     */
+    public static @NotNull Stats getStats() {
+        synchronized (ENTRIES) {
+            return new Stats(HITS.sum(), MISSES.sum(), ENTRIES.size());
+        }
+    }
+
+    /**
+     * Returns plain text content of provided {@link Component}, serialized using {@link PlainTextComponentSerializer}.
+     */
+    public static @NotNull String plainText(final @NotNull Component component) {
+        final Entry entry = entry(component);
+        // Serializing on first access. Concurrent first accesses may serialize more than once, which is harmless.
+        if (entry.plainText == null) {
+            MISSES.increment();
+            entry.plainText = PlainTextComponentSerializer.plainText().serialize(component);
+        } else HITS.increment();
+        // ...
+        return entry.plainText;
+    }
+
+    /**
+     * Appends plain text content of provided {@link Component} to provided {@link StringBuilder}. Cached content is appended as-is.
+     * Content that is not cached yet is serialized straight into the builder, without creating an intermediate {@link String}, and is not cached.
+     */
+    public static void plainText(final @NotNull Component component, final @NotNull StringBuilder builder) {
+        final @Nullable Entry entry = lookup(component);
+        final @Nullable String cached = (entry != null) ? entry.plainText : null;
+        // Appending cached content...
+        if (cached != null) {
+            HITS.increment();
+            builder.append(cached);
+            return;
+        }
+        // Serializing into the builder otherwise.
+        MISSES.increment();
+        PlainTextComponentSerializer.plainText().serialize(builder, component);
+    }
+
+    /**
+     * Returns JSON representation of provided {@link Component}, serialized using {@link GsonComponentSerializer}.
+     */
+    public static @NotNull String json(final @NotNull Component component) {
+        final Entry entry = entry(component);
+        // Serializing on first access. Concurrent first accesses may serialize more than once, which is harmless.
+        if (entry.json == null) {
+            MISSES.increment();
+            entry.json = GsonComponentSerializer.gson().serialize(component);
+        } else HITS.increment();
+        // ...
+        return entry.json;
+    }
+
+    // Returns entry of provided component, or null if there is none. Nothing is inserted.
+    private static @Nullable Entry lookup(final @NotNull Component component) {
+        synchronized (ENTRIES) {
+            expunge();
+            // ...
+            return ENTRIES.get(new Probe(component));
+        }
+    }
+
+    // Returns entry of provided component, inserting an empty one if there is none.
+    private static @NotNull Entry entry(final @NotNull Component component) {
+        synchronized (ENTRIES) {
+            expunge();
+            // Looking up with a probe, which is not registered in the queue. Weak reference is created only when inserting.
+            final @Nullable Entry existing = ENTRIES.get(new Probe(component));
+            // ...
+            if (existing != null)
+                return existing;
+            // Inserting new entry. Least recently used entry is evicted in case capacity has been exceeded.
+            final Entry entry = new Entry();
+            ENTRIES.put(new Key(component, QUEUE), entry);
+            // ...
+            return entry;
+        }
+    }
+
+    // Removes entries of components that have been garbage-collected. Must be called while holding the lock.
+    private static void expunge() {
+        @Nullable Reference<? extends Component> collected;
+        while ((collected = QUEUE.poll()) != null)
+            ENTRIES.remove(collected);
+    }
+
+    /**
+     * Statistics of {@link ComponentCache}.
+     *
+     * @param hits number of times serialized form has been found in the cache
+     * @param misses number of times component had to be serialized
+     * @param size number of entries currently in the cache
+     */
+    public record Stats(long hits, long misses, int size) {
+
+        /**
+         * Returns ratio of hits to all lookups, or {@code 0} if there were none.
+         */
+        public double hitRate() {
+            return (hits + misses > 0) ? (double) hits / (hits + misses) : 0.0D;
+        }
+
+    }
+
+    // Stored key. Holds the component weakly and is registered in the queue, so entry can be removed once component is collected.
+    private static final class Key extends WeakReference<Component> {
+
+        // Identity hash code of the referent. Must be kept, as it is needed to remove the entry after referent is collected.
+        private final int hash;
+
+        private Key(final @NotNull Component referent, final @NotNull ReferenceQueue<Component> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object other) {
+            // Same key, or key or probe of the same, not yet collected, instance.
+            if (this == other)
+                return true;
+            final @Nullable Component referent = this.get();
+            // ...
+            return referent != null && ((other instanceof Key key && referent == key.get()) || (other instanceof Probe probe && referent == probe.component));
+        }
+
+    }
+
+    // Lookup key. Holds the component strongly, for the duration of a lookup only.
+    private record Probe(@NotNull Component component) {
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(component);
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object other) {
+            return (other instanceof Key key && key.get() == component) || (other instanceof Probe probe && probe.component == component);
+        }
+
+    }
+
+    private static final class Entry {
+        volatile @Nullable String plainText;
+        volatile @Nullable String json;
+    }
+
+}
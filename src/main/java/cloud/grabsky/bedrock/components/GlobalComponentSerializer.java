@@ -23,12 +23,16 @@
  */
 package cloud.grabsky.bedrock.components;
 
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.minimessage.tag.standard.StandardTags;
 
+import java.util.Map;
 import java.util.function.Function;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -40,8 +44,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class GlobalComponentSerializer {
 
-    private static MiniMessage instance = MiniMessage.miniMessage();
+    // Published atomically; readers on any thread get a consistent instance and version without locking.
+    private static volatile Snapshot snapshot = new Snapshot(MiniMessage.miniMessage(), 0, true);
 
+    // Guarded by the class lock. Accessed only inside GlobalComponentSerializer#inject.
     private static MiniMessage.Builder builder = MiniMessage.builder()
             .editTags((adder) -> {
                 adder.resolver(StandardTags.color());
@@ -58,18 +64,125 @@ public final class GlobalComponentSerializer {
      * Returns currently held instance of {@link MiniMessage}.
      */
     public static @NotNull MiniMessage get() {
-        return instance;
+        return snapshot.serializer;
+    }
+
+    /**
+     * Returns currently held {@link Snapshot}, consisting of {@link MiniMessage} instance and its version.
+     */
+    public static @NotNull Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns {@code true} if provided {@link String} {@code (text)} contains no tags nor escape sequences
+     * and therefore can be turned into {@link Component} directly, without going through {@link MiniMessage}.
+     *
+     * @apiNote This checks the text only. Modifications injected via {@link GlobalComponentSerializer#inject} are not applied to plain text;
+ *          see {@link Snapshot#fastPath()} to tell whether held instance can be skipped.
+     */
+    public static boolean isPlain(final @NotNull String text) {
+        return text.indexOf('<') == -1 && text.indexOf('\\') == -1;
+    }
+
+    /**
+     * Returns {@link Component} of provided {@link String} {@code (text)} with placeholders substituted, or {@code null}
+     * if text contains anything other than plain text and placeholders present in provided {@link Map} {@code (placeholders)}.
+     * Returned {@link Component} is equivalent to what {@link MiniMessage} of provided {@link Snapshot} would produce for the same input.
+     * <p>
+     * Always returns {@code null} for snapshots with {@link Snapshot#fastPath() fast path} disabled, which is the case once serializer has been modified.
+     * All tags are checked before the result is built, so input that has to be parsed by {@link MiniMessage} is rejected without building anything.
+     */
+    public static @Nullable Component substitute(final @NotNull Snapshot snapshot, final @NotNull String text, final @NotNull Map<String, Component> placeholders) {
+        // Returning for MiniMessage to handle, as modifications of the serializer could change the result.
+        if (snapshot.fastPath == false)
+            return null;
+        // Returning escaped text for MiniMessage to handle.
+        if (text.indexOf('\\') != -1)
+            return null;
+        // Looking for the first tag. Text with no tags can be returned as-is.
+        int start = text.indexOf('<');
+        if (start == -1)
+            return Component.text(text);
+        // Checking whether all tags are placeholders, before allocating anything.
+        for (int i = start; i != -1; i = text.indexOf('<', i + 1)) {
+            final int end = text.indexOf('>', i + 1);
+            // Returning in case tag is not closed, or is not a placeholder. Could be any other tag known to the MiniMessage instance.
+            if (end == -1 || isPlaceholder(text, i + 1, end, placeholders) == false)
+                return null;
+            // ...
+            i = end;
+        }
+        // Creating builder for the result, starting with text preceding the first tag.
+        final TextComponent.Builder builder = Component.text().content(text.substring(0, start));
+        // Iterating over all tags...
+        while (start != -1) {
+            final int end = text.indexOf('>', start + 1);
+            final Component value = placeholders.get(text.substring(start + 1, end));
+            builder.append(value);
+            // Appending text between this tag and the next one. (if any)
+            final int next = text.indexOf('<', end + 1);
+            final String segment = text.substring(end + 1, (next != -1) ? next : text.length());
+            // ...
+            if (segment.isEmpty() == false)
+                builder.append(Component.text(segment));
+            // ...
+            start = next;
+        }
+        // Building and compacting the result, same as MiniMessage's default post-processor does.
+        return builder.build().compact();
+    }
+
+    // Returns true if text between 'start' and 'end' is a name of any of provided placeholders. Compared in place, without creating a substring.
+    private static boolean isPlaceholder(final @NotNull String text, final int start, final int end, final @NotNull Map<String, Component> placeholders) {
+        for (final String name : placeholders.keySet())
+            if (name.length() == end - start && text.regionMatches(start, name, 0, name.length()) == true)
+                return true;
+        // ...
+        return false;
+    }
+
+    /**
+     * Returns version of currently held {@link MiniMessage} instance. Incremented each time {@link GlobalComponentSerializer#inject} is called.
+     * Can be used to cheaply check whether anything derived from the serializer is stale.
+     */
+    public static int version() {
+        return snapshot.version;
     }
 
     /**
      * Applies modifications to private {@link MiniMessage.Builder} and re-builds
      * underlying {@link MiniMessage} instance accessible by {@link GlobalComponentSerializer#get()}
+     * <p>
+     * Disables {@link Snapshot#fastPath() fast path}, as modifications could change how plain text and placeholders are deserialized.
+     * See {@link GlobalComponentSerializer#inject(Function, boolean)} to keep it enabled.
      */
     public static void inject(final @NotNull Function<MiniMessage.Builder, MiniMessage.Builder> function) {
+        inject(function, false);
+    }
+
+    /**
+     * Applies modifications to private {@link MiniMessage.Builder} and re-builds
+     * underlying {@link MiniMessage} instance accessible by {@link GlobalComponentSerializer#get()}
+     * <p>
+     * Provided {@code (fastPath)} should be {@code true} only if modified serializer still deserializes text with no tags other than placeholders
+     * the same way the default one does; that is, modifications add no pre- or post-processors and override no tags used as placeholders.
+     * Fast path stays disabled once it has been disabled by any previous modification.
+     */
+    public static synchronized void inject(final @NotNull Function<MiniMessage.Builder, MiniMessage.Builder> function, final boolean fastPath) {
         // applying modifications on the current builder...
         builder = function.apply(builder);
-        // rebuilding...
-        instance = builder.build();
+        // rebuilding and publishing new snapshot with bumped version; invalidates anything derived from the previous one...
+        snapshot = new Snapshot(builder.build(), snapshot.version + 1, snapshot.fastPath == true && fastPath == true);
     }
 
+    /**
+     * Immutable snapshot of {@link GlobalComponentSerializer} state. Safe to be shared between threads.
+     *
+     * @param serializer instance of {@link MiniMessage}
+     * @param version version of the instance, as returned by {@link GlobalComponentSerializer#version()}
+     * @param fastPath whether plain text and placeholders can be deserialized without going through {@link MiniMessage}; see {@link GlobalComponentSerializer#substitute}
+     */
+    public record Snapshot(@NotNull MiniMessage serializer, int version, boolean fastPath) { /* EMPTY */ }
+
 }
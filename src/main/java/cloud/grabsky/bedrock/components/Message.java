@@ -24,23 +24,33 @@
 package cloud.grabsky.bedrock.components;
 
 import cloud.grabsky.bedrock.Sendable;
+import cloud.grabsky.bedrock.components.GlobalComponentSerializer.Snapshot;
+import cloud.grabsky.bedrock.util.StringReplacer;
 import io.papermc.paper.math.Position;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.key.Keyed;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.event.HoverEvent;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import net.kyori.adventure.title.Title;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.intellij.lang.annotations.Subst;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.jetbrains.annotations.ApiStatus.Experimental;
 import org.jetbrains.annotations.NotNull;
@@ -51,6 +61,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 import static net.kyori.adventure.text.Component.empty;
+import static net.kyori.adventure.text.Component.text;
 import static net.kyori.adventure.text.minimessage.tag.resolver.Placeholder.component;
 import static net.kyori.adventure.text.minimessage.tag.resolver.Placeholder.unparsed;
 
@@ -67,6 +78,13 @@ public abstract sealed class Message<T> implements Sendable permits Message.Stri
     protected @Nullable T message;
 
 
+    /**
+     * Returns {@link Supplier} of {@link Component} rendered from current state of (this) {@link Message}, or {@code null} for empty messages.
+     * State is captured upon calling this method, so returned {@link Supplier} can be safely called later, from any thread.
+     */
+    abstract @NotNull Supplier<Component> snapshot();
+
+
     /**
      * Returns new instance of {@link StringMessage StringMessage} which uses {@link MiniMessage} as a (de)serialization strategy.
      */
@@ -74,10 +92,29 @@ public abstract sealed class Message<T> implements Sendable permits Message.Stri
         return new StringMessage(message);
     }
 
+    /**
+     * Returns new instance of {@link StringMessage StringMessage} backed by provided {@link MessageBundle.Entry}, which holds compiled template of the message.
+     */
+    static @NotNull StringMessage of(final @NotNull String message, final @NotNull MessageBundle.Entry entry) {
+        final StringMessage result = new StringMessage(message);
+        result.entry = entry;
+        // ...
+        return result;
+    }
+
     public static final class StringMessage extends Message<String> {
 
         private final TagResolver.Builder resolverBuilder = TagResolver.builder();
 
+        // Bundle entry this message comes from, or null. Compiled template of the entry is used as long as message is not modified.
+        private @Nullable MessageBundle.Entry entry;
+
+        // Values of placeholders added to this message. Used to fill-in the compiled template.
+        private final Map<String, Component> placeholders = new HashMap<>();
+
+        // Whether this message can be rendered from a compiled template. Arbitrary resolvers can only be applied by parsing the message.
+        private boolean compilable = true;
+
         private StringMessage(final @Nullable String message) {
             super(message);
         }
@@ -90,6 +127,29 @@ public abstract sealed class Message<T> implements Sendable permits Message.Stri
                 return this;
             // ...
             this.message = message.replace(target, replacement);
+            this.entry = null;
+            return this;
+        }
+
+        /**
+         * Replaces all occurrences of each key of provided {@link Map} with its value, in a single pass. See {@link StringReplacer}.
+         */
+        public @NotNull StringMessage replace(final @NotNull Map<String, String> replacements) {
+            if (message == null || replacements.isEmpty() == true)
+                return this;
+            // ...
+            return this.replace(StringReplacer.of(replacements.keySet().toArray(String[]::new)), replacements.values().toArray(String[]::new));
+        }
+
+        /**
+         * Replaces all occurrences of each target of provided {@link StringReplacer} with replacement at the same index, in a single pass.
+         */
+        public @NotNull StringMessage replace(final @NotNull StringReplacer replacer, final @NotNull String... replacements) {
+            if (message == null)
+                return this;
+            // ...
+            this.message = replacer.replace(message, replacements);
+            this.entry = null;
             return this;
         }
 
@@ -98,6 +158,7 @@ public abstract sealed class Message<T> implements Sendable permits Message.Stri
          */
         public @NotNull StringMessage placeholder(final @Subst("") @NotNull String name, final @NotNull String value) {
             resolverBuilder.resolver(unparsed(name, value));
+            placeholders.put(name, text(value));
             return this;
         }
 
@@ -106,6 +167,7 @@ public abstract sealed class Message<T> implements Sendable permits Message.Stri
          */
         public @NotNull StringMessage placeholder(final @Subst("") @NotNull String name, final @NotNull Component value) {
             resolverBuilder.resolver(component(name, value));
+            placeholders.put(name, value);
             return this;
         }
 
@@ -120,15 +182,19 @@ public abstract sealed class Message<T> implements Sendable permits Message.Stri
          *
          * @apiNote This is an experimental API that can change or disappear at any time.
          */
-        @Experimental @SuppressWarnings("UnstableApiUsage")
+        @Experimental
         public @NotNull StringMessage placeholder(final @Subst("") @NotNull String name, final @NotNull Object value) {
-            switch (value) {
-                case Keyed keyed -> resolverBuilder.resolver(unparsed(name, keyed.key().asString()));
-                case Position pos ->  resolverBuilder.resolver(unparsed(name, "%.2f, %.2f, %.2f".formatted(pos.x(), pos.y(), pos.z())));
-                case OfflinePlayer offlinePlayer -> resolverBuilder.resolver(unparsed(name, (offlinePlayer.getName() != null) ? offlinePlayer.getName() : offlinePlayer.getUniqueId().toString()));
-                default -> resolverBuilder.resolver(unparsed(name, value.toString()));
-            }
-            return this;
+            return placeholder(name, stringify(value));
+        }
+
+        @SuppressWarnings("UnstableApiUsage")
+        private static @NotNull String stringify(final @NotNull Object value) {
+            return switch (value) {
+                case Keyed keyed -> keyed.key().asString();
+                case Position pos -> "%.2f, %.2f, %.2f".formatted(pos.x(), pos.y(), pos.z());
+                case OfflinePlayer offlinePlayer -> (offlinePlayer.getName() != null) ? offlinePlayer.getName() : offlinePlayer.getUniqueId().toString();
+                default -> value.toString();
+            };
         }
 
         /**
@@ -136,9 +202,82 @@ public abstract sealed class Message<T> implements Sendable permits Message.Stri
          */
         public @NotNull StringMessage resolvers(final @NotNull TagResolver... resolvers) {
             resolverBuilder.resolvers(resolvers);
+            compilable = false;
             return this;
         }
 
+        /**
+         * Deserializes (this) {@link String} message to {@link Component}. Messages containing only placeholders are
+         * rendered from {@link CompiledTemplate}, which makes parsing a one-time cost rather than a per-message cost.
+         */
+        private @NotNull Component deserialize() {
+            // Parsing with all resolvers in case any arbitrary resolver has been added.
+            if (compilable == false)
+                return GlobalComponentSerializer.get().deserialize(message, resolverBuilder.build());
+            // Rendering from placeholders otherwise.
+            return render(message, entry, placeholders, GlobalComponentSerializer.snapshot());
+        }
+
+        /**
+         * Deserializes (this) {@link String} message to {@link Component}, with additional placeholders provided by {@link Map} {@code (extra)}.
+         * Values are converted the same way {@link StringMessage#placeholder(String, Object)} does, except for {@link Component Components}.
+         */
+        private @NotNull Component deserialize(final @NotNull Map<String, ?> extra) {
+            // Nothing to add; deserializing with placeholders of this message.
+            if (extra.isEmpty() == true)
+                return this.deserialize();
+            // Merging values. Extra placeholders take precedence over placeholders of this message.
+            final Map<String, Component> values = new HashMap<>(placeholders);
+            extra.forEach((name, value) -> values.put(name, (value instanceof Component component) ? component : text(stringify(value))));
+            // Parsing with all resolvers in case any arbitrary resolver has been added.
+            if (compilable == false) {
+                final TagResolver.Builder extraResolverBuilder = TagResolver.builder();
+                // ...
+                for (final String name : extra.keySet())
+                    extraResolverBuilder.resolver(component(name, values.get(name)));
+                // Extra resolvers come first, so they are not shadowed by placeholders of this message.
+                return GlobalComponentSerializer.get().deserialize(message, TagResolver.resolver(extraResolverBuilder.build(), resolverBuilder.build()));
+            }
+            // Rendering from placeholders otherwise.
+            return render(message, entry, values, GlobalComponentSerializer.snapshot());
+        }
+
+        private static @NotNull Component render(final @NotNull String message, final @Nullable MessageBundle.Entry entry, final @NotNull Map<String, Component> values, final @NotNull Snapshot snapshot) {
+            // Substituting placeholders directly for messages with no other tags. Skips the template cache entirely.
+            final @Nullable Component plain = GlobalComponentSerializer.substitute(snapshot, message, values);
+            if (plain != null)
+                return plain;
+            // Filling-in the compiled template otherwise. Messages coming from a bundle use template kept by the bundle.
+            final CompiledTemplate template = (entry != null) ? entry.compile(values.keySet(), snapshot) : CompiledTemplate.compile(message, values.keySet(), snapshot);
+            // ...
+            return template.fill(values);
+        }
+
+        @Override
+        @NotNull Supplier<Component> snapshot() {
+            final @Nullable String message = this.message;
+            // Returning no-op supplier for null or empty messages.
+            if (message == null || message.isEmpty() == true)
+                return () -> null;
+            // Capturing snapshot of the serializer, so message is parsed the same way regardless of when and on which thread it happens.
+            final Snapshot snapshot = GlobalComponentSerializer.snapshot();
+            // Capturing resolvers in case any arbitrary resolver has been added.
+            if (compilable == false) {
+                final TagResolver resolver = resolverBuilder.build();
+                // ...
+                return () -> nonEmpty(snapshot.serializer().deserialize(message, resolver));
+            }
+            // Capturing placeholders otherwise. Compiled templates are safe to be used from any thread.
+            final Map<String, Component> values = Map.copyOf(placeholders);
+            final @Nullable MessageBundle.Entry entry = this.entry;
+            // ...
+            return () -> nonEmpty(render(message, entry, values, snapshot));
+        }
+
+        private static @Nullable Component nonEmpty(final @NotNull Component component) {
+            return (empty().equals(component) == false) ? component : null;
+        }
+
         /**
          * Parses (this) {@link String} message to {@link Component} using serializer provided by {@link GlobalComponentSerializer}.
          */
@@ -147,7 +286,7 @@ public abstract sealed class Message<T> implements Sendable permits Message.Stri
             if (message == null || message.isEmpty() == true)
                 return null;
             // ...
-            final Component component = GlobalComponentSerializer.get().deserialize(message, resolverBuilder.build());
+            final Component component = this.deserialize();
             // Ignoring empty/blank messages.
             if (empty().equals(component) == true)
                 return null;
@@ -161,7 +300,7 @@ public abstract sealed class Message<T> implements Sendable permits Message.Stri
             if (message == null || message.isEmpty() == true)
                 return;
             // Parsing using MiniMessage instance provided by GlobalComponentSerializer.
-            final Component component = GlobalComponentSerializer.get().deserialize(message, resolverBuilder.build());
+            final Component component = this.deserialize();
             // Ignoring empty/blank messages.
             if (empty().equals(component) == true)
                 return;
@@ -175,7 +314,7 @@ public abstract sealed class Message<T> implements Sendable permits Message.Stri
             if (message == null || message.isEmpty() == true)
                 return;
             // Parsing using MiniMessage instance provided by GlobalComponentSerializer.
-            final Component component = GlobalComponentSerializer.get().deserialize(message, resolverBuilder.build());
+            final Component component = this.deserialize();
             // Ignoring empty/blank messages.
             if (empty().equals(component) == true)
                 return;
@@ -189,7 +328,7 @@ public abstract sealed class Message<T> implements Sendable permits Message.Stri
             if (message == null || message.isEmpty() == true)
                 return;
             // Parsing using MiniMessage instance provided by GlobalComponentSerializer.
-            final Component component = GlobalComponentSerializer.get().deserialize(message, resolverBuilder.build());
+            final Component component = this.deserialize();
             // Ignoring empty/blank messages.
             if (empty().equals(component) == true)
                 return;
@@ -203,7 +342,7 @@ public abstract sealed class Message<T> implements Sendable permits Message.Stri
             if (message == null || message.isEmpty() == true)
                 return;
             // Parsing using MiniMessage instance provided by GlobalComponentSerializer.
-            final Component component = GlobalComponentSerializer.get().deserialize(message, resolverBuilder.build());
+            final Component component = this.deserialize();
             // Ignoring empty/blank messages.
             if (empty().equals(component) == true)
                 return;
@@ -216,21 +355,67 @@ public abstract sealed class Message<T> implements Sendable permits Message.Stri
             // Ignoring empty/blank messages.
             if (message == null || message.isEmpty() == true)
                 return;
-            // Collecting a list of players that matches provided predicate.
-            final List<? extends Player> players = Bukkit.getOnlinePlayers().stream().filter(predicate).toList();
-            // Ignoring in case list is empty.
-            if (players.isEmpty() == true)
+            // Message is parsed lazily, once the first player matching provided predicate is found.
+            @Nullable Component component = null;
+            // Iterating over online players directly, without collecting them first.
+            for (final Player player : Bukkit.getOnlinePlayers()) {
+                // Skipping players not matching the predicate.
+                if (predicate.test(player) == false)
+                    continue;
+                // Parsing on first match.
+                if (component == null) {
+                    // Parsing using MiniMessage instance provided by GlobalComponentSerializer.
+                    component = this.deserialize();
+                    // Ignoring empty/blank messages.
+                    if (empty().equals(component) == true)
+                        return;
+                    // Broadcasting message to the console.
+                    Bukkit.getConsoleSender().sendMessage(component);
+                }
+                // Sending message to the player.
+                player.sendMessage(component);
+            }
+        }
+
+        /**
+         * Sends message contained by (this) {@link Message} instance to all players matching provided {@link Predicate}, with per-viewer
+         * placeholders returned by provided {@link Function} {@code (placeholders)}. Function is also called for the console.
+         * <p>
+         * Viewers are grouped by values of their placeholders and message is parsed only once per each distinct group.
+         * Returned {@link Map} is used as a group key and therefore must implement {@link Object#equals} and {@link Object#hashCode}.
+         */
+        public void broadcast(final @NotNull Predicate<Player> predicate, final @NotNull Function<CommandSender, ? extends Map<String, ?>> placeholders) {
+            // Ignoring empty/blank messages.
+            if (message == null || message.isEmpty() == true)
                 return;
-            // Parsing using MiniMessage instance provided by GlobalComponentSerializer.
-            final Component component = GlobalComponentSerializer.get().deserialize(message, resolverBuilder.build());
+            // Components parsed so far, keyed by placeholder values they were parsed with.
+            final Map<Map<String, ?>, Component> parsed = new HashMap<>();
+            // Whether message has been sent to the console already. This happens once the first matching player is found.
+            boolean matched = false;
+            // Iterating over online players directly, without collecting them first.
+            for (final Player player : Bukkit.getOnlinePlayers()) {
+                // Skipping players not matching the predicate.
+                if (predicate.test(player) == false)
+                    continue;
+                // Broadcasting message to the console on first match.
+                if (matched == false) {
+                    this.send(Bukkit.getConsoleSender(), placeholders, parsed);
+                    matched = true;
+                }
+                // Sending message to the player.
+                this.send(player, placeholders, parsed);
+            }
+        }
+
+        private void send(final @NotNull CommandSender viewer, final @NotNull Function<CommandSender, ? extends Map<String, ?>> placeholders, final @NotNull Map<Map<String, ?>, Component> parsed) {
+            final Map<String, ?> values = placeholders.apply(viewer);
+            // Re-using component parsed for another viewer with the same values, or parsing otherwise.
+            final Component component = parsed.computeIfAbsent(values, this::deserialize);
             // Ignoring empty/blank messages.
             if (empty().equals(component) == true)
                 return;
-            // Broadcasting message to the console.
-            Bukkit.getConsoleSender().sendMessage(component);
-            // Broadcasting message to the players.
-            for (final Player player : players)
-                player.sendMessage(component);
+            // Sending message to the viewer.
+            viewer.sendMessage(component);
         }
 
         @Override
@@ -239,7 +424,7 @@ public abstract sealed class Message<T> implements Sendable permits Message.Stri
             if (message == null || message.isEmpty() == true)
                 return;
             // Parsing using MiniMessage instance provided by GlobalComponentSerializer.
-            final Component component = GlobalComponentSerializer.get().deserialize(message, resolverBuilder.build());
+            final Component component = this.deserialize();
             // Ignoring empty/blank messages.
             if (empty().equals(component) == true)
                 return;
@@ -263,6 +448,29 @@ public abstract sealed class Message<T> implements Sendable permits Message.Stri
             super(message);
         }
 
+        @Override
+        @NotNull Supplier<Component> snapshot() {
+            final @Nullable Component message = this.message;
+            // Ignoring empty/blank messages.
+            return (message == null || empty().equals(message) == true) ? () -> null : () -> message;
+        }
+
+        /**
+         * Returns plain text content of (this) {@link Component} message, or {@code null} for null messages.
+         * Result is memoised per {@link Component} instance. See {@link ComponentCache}.
+         */
+        public @Nullable String plainText() {
+            return (message != null) ? ComponentCache.plainText(message) : null;
+        }
+
+        /**
+         * Returns JSON representation of (this) {@link Component} message, or {@code null} for null messages.
+         * Result is memoised per {@link Component} instance. See {@link ComponentCache}.
+         */
+        public @Nullable String json() {
+            return (message != null) ? ComponentCache.json(message) : null;
+        }
+
         /**
          * Replaces all occurrences of <b>{@code target}</b> with <b>{@code to}</b>.
          */
@@ -274,6 +482,63 @@ public abstract sealed class Message<T> implements Sendable permits Message.Stri
             return this;
         }
 
+        /**
+         * Replaces all occurrences of each key of provided {@link Map} with its value, in a single pass over the component tree. See {@link StringReplacer}.
+         */
+        public @NotNull ComponentMessage replace(final @NotNull Map<String, String> replacements) {
+            if (message == null || replacements.isEmpty() == true)
+                return this;
+            // ...
+            return this.replace(StringReplacer.of(replacements.keySet().toArray(String[]::new)), replacements.values().toArray(String[]::new));
+        }
+
+        /**
+         * Replaces all occurrences of each target of provided {@link StringReplacer} with replacement at the same index, in a single pass over the component tree.
+         * Same as {@link TextReplacementConfig}, matches are found within content of each {@link TextComponent} separately.
+         */
+        public @NotNull ComponentMessage replace(final @NotNull StringReplacer replacer, final @NotNull String... replacements) {
+            if (message == null)
+                return this;
+            // ...
+            this.message = replace(message, replacer, replacements);
+            return this;
+        }
+
+        private static @NotNull Component replace(final @NotNull Component component, final @NotNull StringReplacer replacer, final @NotNull String[] replacements) {
+            Component result = component;
+            // Replacing content of the text component. Same instance is returned in case nothing has been replaced.
+            if (component instanceof TextComponent text) {
+                final String content = replacer.replace(text.content(), replacements);
+                // ...
+                if (content != text.content())
+                    result = text.content(content);
+            }
+            // Replacing hover text.
+            final @Nullable HoverEvent<?> hover = component.style().hoverEvent();
+            if (hover != null && hover.action() == HoverEvent.Action.SHOW_TEXT) {
+                final Component value = (Component) hover.value();
+                final Component replaced = replace(value, replacer, replacements);
+                // Updating the style only when something has actually changed.
+                if (replaced != value)
+                    result = result.style(result.style().hoverEvent(HoverEvent.showText(replaced)));
+            }
+            // Replacing children. List is copied lazily, only when at least one child has changed.
+            final List<Component> children = component.children();
+            @Nullable List<Component> replacedChildren = null;
+            for (int i = 0; i < children.size(); i++) {
+                final Component child = children.get(i);
+                final Component replaced = replace(child, replacer, replacements);
+                // ...
+                if (replaced != child) {
+                    if (replacedChildren == null)
+                        replacedChildren = new ArrayList<>(children);
+                    replacedChildren.set(i, replaced);
+                }
+            }
+            // ...
+            return (replacedChildren != null) ? result.children(replacedChildren) : result;
+        }
+
         @Override
         public void send(final @NotNull Audience audience) {
             // Ignoring empty/blank messages.
@@ -315,16 +580,21 @@ public abstract sealed class Message<T> implements Sendable permits Message.Stri
             // Ignoring empty/blank messages.
             if (message == null || empty().equals(message)== true)
                 return;
-            // Collecting a list of players that matches provided predicate.
-            final List<? extends Player> players = Bukkit.getOnlinePlayers().stream().filter(predicate).toList();
-            // Ignoring in case list is empty.
-            if (players.isEmpty() == true)
-                return;
-            // Broadcasting message to the console.
-            Bukkit.getConsoleSender().sendMessage(message);
-            // Broadcasting message to the players.
-            for (final Player player : players)
+            // Whether message has been sent to the console already. This happens once the first matching player is found.
+            boolean matched = false;
+            // Iterating over online players directly, without collecting them first.
+            for (final Player player : Bukkit.getOnlinePlayers()) {
+                // Skipping players not matching the predicate.
+                if (predicate.test(player) == false)
+                    continue;
+                // Broadcasting message to the console on first match.
+                if (matched == false) {
+                    Bukkit.getConsoleSender().sendMessage(message);
+                    matched = true;
+                }
+                // Sending message to the player.
                 player.sendMessage(message);
+            }
         }
 
         @Override
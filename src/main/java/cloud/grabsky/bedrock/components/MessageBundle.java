@@ -0,0 +1,316 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.components;
+
+import cloud.grabsky.bedrock.components.GlobalComponentSerializer.Snapshot;
+import cloud.grabsky.bedrock.components.Message.StringMessage;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * {@link MessageBundle} holds keyed message templates in multiple languages and resolves them against locale of the viewer.
+ * <p>
+ * Templates are parsed lazily, on first use. Each (key, locale) pair keeps its most recently used compiled form; forms compiled for other sets of placeholders
+ * are kept by the shared cache of {@link CompiledTemplate}, so a key sent with different placeholders from different places is not re-compiled on each send.
+ * Requested locale is resolved through a fallback chain (eg. {@code pl_PL} → {@code pl} → default locale). Locales with the same chain share
+ * resolved entries, and only keys that exist are cached, so memory is bounded by the bundle itself, regardless of locales and keys requested.
+ * <p>
+ * {@link MessageBundle} is immutable. To reload messages, create a new instance.
+ */
+public final class MessageBundle {
+
+    // Entry used to mark keys that are missing in every locale of the chain. Never cached.
+    private static final Entry MISSING = new Entry("");
+
+    // Maximum number of requested locales with their chain cached. Cache is cleared once this limit is reached.
+    private static final int CHAIN_CACHE_CAPACITY = 256;
+
+    /**
+     * Returns {@link Locale} used when no template exists in locale of the viewer.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final @NotNull Locale defaultLocale;
+
+    // Entries keyed by locale they are defined in, and then by their key.
+    private final @NotNull Map<Locale, Map<String, Entry>> entries;
+
+    // Fallback chains keyed by requested locale. Requested locales come from clients and are arbitrary, hence the limit.
+    private final Map<Locale, Chain> chains = new ConcurrentHashMap<>();
+
+    // Fallback chains keyed by locales they consist of. These are subsets of locales of this bundle, so there is only a few of them.
+    private final Map<List<Locale>, Chain> interned = new ConcurrentHashMap<>();
+
+    private MessageBundle(final @NotNull Locale defaultLocale, final @NotNull Map<Locale, Map<String, Entry>> entries) {
+        this.defaultLocale = defaultLocale;
+        this.entries = entries;
+    }
+
+    /**
+     * Returns new {@link Builder} of {@link MessageBundle} with provided default {@link Locale}.
+     */
+    public static @NotNull Builder builder(final @NotNull Locale defaultLocale) {
+        return new Builder(defaultLocale);
+    }
+
+    /**
+     * Returns {@link Set} of locales this bundle has templates for.
+     */
+    public @NotNull Set<Locale> getLocales() {
+        return entries.keySet();
+    }
+
+    /**
+     * Returns {@code true} if template of provided key exists in provided {@link Locale} or any of its fallbacks.
+     */
+    public boolean contains(final @NotNull String key, final @NotNull Locale locale) {
+        return this.resolve(key, locale) != MISSING;
+    }
+
+    /**
+     * Returns new {@link StringMessage StringMessage} of provided key, in provided {@link Locale} or its closest fallback.
+     * Message is empty if no template has been found, in which case sending it does nothing.
+     */
+    public @NotNull StringMessage message(final @NotNull String key, final @NotNull Locale locale) {
+        final Entry entry = this.resolve(key, locale);
+        // Returning empty message for missing keys.
+        if (entry == MISSING)
+            return Message.of((String) null);
+        // ...
+        return Message.of(entry.template, entry);
+    }
+
+    /**
+     * Returns new {@link StringMessage StringMessage} of provided key, in locale of provided {@link Audience}. Default locale is used for
+     * audiences with no locale, for example the console.
+     */
+    public @NotNull StringMessage message(final @NotNull String key, final @NotNull Audience audience) {
+        return this.message(key, audience.getOrDefault(Identity.LOCALE, defaultLocale));
+    }
+
+    /**
+     * Sends message of provided key to all players matching provided {@link Predicate}, each in their own locale. Message is sent to the console too, in default locale.
+     * <p>
+     * Players are grouped by template their locale resolves to, and message is parsed only once per each group. Provided {@link Consumer} {@code (customizer)} is called
+     * on each new message, which is the place to add placeholders. Placeholders must not depend on the viewer, as the result is shared within the group.
+     */
+    public void broadcast(final @NotNull String key, final @NotNull Predicate<Player> predicate, final @NotNull Consumer<StringMessage> customizer) {
+        // Components parsed so far, keyed by entry they were parsed from. Empty optional stands for an empty message.
+        final Map<Entry, Optional<Component>> parsed = new HashMap<>();
+        // Whether message has been sent to the console already. This happens once the first matching player is found.
+        boolean matched = false;
+        // Iterating over online players directly, without collecting them first.
+        for (final Player player : Bukkit.getOnlinePlayers()) {
+            // Skipping players not matching the predicate.
+            if (predicate.test(player) == false)
+                continue;
+            // Broadcasting message to the console on first match.
+            if (matched == false) {
+                this.send(Bukkit.getConsoleSender(), key, defaultLocale, customizer, parsed);
+                matched = true;
+            }
+            // Sending message to the player.
+            this.send(player, key, player.locale(), customizer, parsed);
+        }
+    }
+
+    /**
+     * Sends message of provided key to all players, each in their own locale. See {@link MessageBundle#broadcast(String, Predicate, Consumer)}.
+     */
+    public void broadcast(final @NotNull String key, final @NotNull Consumer<StringMessage> customizer) {
+        this.broadcast(key, (player) -> true, customizer);
+    }
+
+    private void send(final @NotNull Audience viewer, final @NotNull String key, final @NotNull Locale locale, final @NotNull Consumer<StringMessage> customizer, final @NotNull Map<Entry, Optional<Component>> parsed) {
+        final Entry entry = this.resolve(key, locale);
+        // Skipping missing keys.
+        if (entry == MISSING)
+            return;
+        // Re-using component parsed for another viewer with the same template, or parsing otherwise.
+        final Optional<Component> component = parsed.computeIfAbsent(entry, (ignored) -> {
+            final StringMessage message = Message.of(entry.template, entry);
+            // Adding placeholders...
+            customizer.accept(message);
+            // ...
+            return Optional.ofNullable(message.parse());
+        });
+        // Sending message to the viewer, unless empty.
+        component.ifPresent(viewer::sendMessage);
+    }
+
+    private @NotNull Entry resolve(final @NotNull String key, final @NotNull Locale locale) {
+        @Nullable Chain chain = chains.get(locale);
+        // Resolving chain on first request of this locale.
+        if (chain == null) {
+            // Clearing the cache in case it has grown too big. Chains themselves are interned, so resolved entries are kept.
+            if (chains.size() >= CHAIN_CACHE_CAPACITY)
+                chains.clear();
+            // ...
+            chain = interned.computeIfAbsent(this.chain(locale), Chain::new);
+            chains.put(locale, chain);
+        }
+        // Returning entry resolved before. Only existing keys are cached, so keys requested by users cannot grow the cache.
+        final @Nullable Entry resolved = chain.resolved.get(key);
+        if (resolved != null)
+            return resolved;
+        // Walking the fallback chain until template is found.
+        for (final Locale candidate : chain.locales) {
+            final @Nullable Entry entry = entries.get(candidate).get(key);
+            // ...
+            if (entry != null) {
+                chain.resolved.put(key, entry);
+                return entry;
+            }
+        }
+        return MISSING;
+    }
+
+    private @NotNull List<Locale> chain(final @NotNull Locale locale) {
+        final Set<Locale> chain = new LinkedHashSet<>();
+        // Requested locale, followed by locale with no variant and locale with language only.
+        chain.add(locale);
+        chain.add(Locale.of(locale.getLanguage(), locale.getCountry()));
+        chain.add(Locale.of(locale.getLanguage()));
+        // Default locale, followed by its language only.
+        chain.add(defaultLocale);
+        chain.add(Locale.of(defaultLocale.getLanguage()));
+        // Keeping only locales that have templates.
+        chain.retainAll(entries.keySet());
+        // ...
+        return List.copyOf(chain);
+    }
+
+    // Fallback chain along with entries resolved through it, keyed by their key.
+    private record Chain(@NotNull List<Locale> locales, @NotNull Map<String, Entry> resolved) {
+
+        private Chain(final @NotNull List<Locale> locales) {
+            this(locales, new ConcurrentHashMap<>());
+        }
+
+    }
+
+    /**
+     * Template of a {@link MessageBundle}, along with its lazily compiled form.
+     */
+    static final class Entry {
+
+        private final @NotNull String template;
+
+        // Most recently used compiled form of the template. Looked up in the shared cache once version of the serializer or names of placeholders change.
+        private volatile @Nullable CompiledTemplate compiled;
+
+        private Entry(final @NotNull String template) {
+            this.template = template;
+        }
+
+        /**
+         * Returns compiled template of (this) {@link Entry} with placeholders of provided names. Template compiled for the same names and version
+         * of the serializer as on previous call is returned directly; otherwise it's taken from the cache of {@link CompiledTemplate}, keyed by names of placeholders.
+         */
+        @NotNull CompiledTemplate compile(final @NotNull Set<String> names, final @NotNull Snapshot snapshot) {
+            @Nullable CompiledTemplate compiled = this.compiled;
+            // Looking up in the shared cache in case names or version differ from the previous call. Template is compiled only if it's not cached for these names yet.
+            if (compiled == null || compiled.getVersion() != snapshot.version() || compiled.getNames().equals(names) == false) {
+                compiled = CompiledTemplate.compile(template, names, snapshot);
+                // Keeping the result, unless a template compiled with a newer serializer has been kept in the meantime.
+                final @Nullable CompiledTemplate existing = this.compiled;
+                if (existing == null || existing.getVersion() <= compiled.getVersion())
+                    this.compiled = compiled;
+            }
+            return compiled;
+        }
+
+    }
+
+    public static final class Builder {
+
+        private final @NotNull Locale defaultLocale;
+
+        private final Map<Locale, Map<String, Entry>> entries = new HashMap<>();
+
+        private Builder(final @NotNull Locale defaultLocale) {
+            this.defaultLocale = defaultLocale;
+        }
+
+        /**
+         * Adds provided template in provided {@link Locale}. Replaces template of the same key and locale added before.
+         */
+        public @NotNull Builder add(final @NotNull Locale locale, final @NotNull String key, final @NotNull String template) {
+            entries.computeIfAbsent(locale, (ignored) -> new HashMap<>()).put(key, new Entry(template));
+            return this;
+        }
+
+        /**
+         * Adds all templates from provided {@link Map} in provided {@link Locale}.
+         */
+        public @NotNull Builder add(final @NotNull Locale locale, final @NotNull Map<String, String> templates) {
+            templates.forEach((key, template) -> this.add(locale, key, template));
+            return this;
+        }
+
+        /**
+         * Adds all {@link String} values from provided {@link ConfigurationSection} in provided {@link Locale}. Keys are full paths, for example {@code commands.reload.success}.
+         * Lists of strings are joined with new lines.
+         */
+        public @NotNull Builder add(final @NotNull Locale locale, final @NotNull ConfigurationSection section) {
+            for (final String key : section.getKeys(true)) {
+                if (section.isString(key) == true)
+                    this.add(locale, key, section.getString(key, ""));
+                else if (section.isList(key) == true)
+                    this.add(locale, key, String.join("\n", section.getStringList(key)));
+            }
+            return this;
+        }
+
+        public @NotNull MessageBundle build() {
+            final Map<Locale, Map<String, Entry>> copy = new HashMap<>();
+            // Copying entries, so further changes to the builder do not affect built bundle.
+            entries.forEach((locale, templates) -> copy.put(locale, Map.copyOf(templates)));
+            // ...
+            return new MessageBundle(defaultLocale, Map.copyOf(copy));
+        }
+
+    }
+
+}
@@ -0,0 +1,272 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.components;
+
+import cloud.grabsky.bedrock.Sendable;
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static java.lang.System.currentTimeMillis;
+import static net.kyori.adventure.text.Component.empty;
+
+/**
+ * {@link MessageCoalescer} keeps only the latest action bar and title sent to each {@link Audience} during a tick and sends them once the tick ends.
+ * Messages are parsed at that point too, so updates replaced within the same tick are never parsed.
+ * <p>
+ * Messages equal to what the {@link Audience} is currently seeing are not sent again. Action bars fade out client-side after a few seconds,
+ * so equal action bars are still re-sent once per {@code refreshInterval} to keep them visible.
+ *
+ * @apiNote {@link MessageCoalescer} must be accessed from the main thread only.
+ */
+public final class MessageCoalescer implements Listener {
+
+    private final @NotNull Plugin plugin;
+
+    // Updates sent during current tick, waiting to be flushed.
+    private final Map<Audience, Pending> pending = new HashMap<>();
+
+    // What each Audience is currently seeing.
+    private final Map<Audience, Shown> shown = new WeakHashMap<>();
+
+    private final long refreshInterval;
+
+    /**
+     * Creates new {@link MessageCoalescer} which re-sends equal action bars at most once per second.
+     */
+    public MessageCoalescer(final @NotNull Plugin plugin) {
+        this(plugin, 1000L);
+    }
+
+    /**
+     * Creates new {@link MessageCoalescer} and registers it to the server.
+     *
+     * @param plugin plugin to register listeners for
+     * @param refreshInterval minimum time in milliseconds between sending equal action bars
+     */
+    public MessageCoalescer(final @NotNull Plugin plugin, final long refreshInterval) {
+        this.plugin = plugin;
+        this.refreshInterval = refreshInterval;
+        // Registering listeners to the server.
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Returns coalescing view of provided {@link Sendable}. Action bars and titles are sent through (this) {@link MessageCoalescer},
+     * everything else is sent immediately.
+     */
+    public @NotNull Sendable wrap(final @NotNull Sendable sendable) {
+        return new CoalescingSendable(this, sendable);
+    }
+
+    /**
+     * Schedules provided {@link Message} to be sent as an action bar at the end of current tick. Replaces any action bar scheduled before.
+     */
+    public void sendActionBar(final @NotNull Audience audience, final @NotNull Message<?> message) {
+        pending.computeIfAbsent(audience, (ignored) -> new Pending()).actionBar = message.snapshot();
+    }
+
+    /**
+     * Schedules provided {@link Component} to be sent as an action bar at the end of current tick. Replaces any action bar scheduled before.
+     */
+    public void sendActionBar(final @NotNull Audience audience, final @NotNull Component component) {
+        pending.computeIfAbsent(audience, (ignored) -> new Pending()).actionBar = () -> component;
+    }
+
+    /**
+     * Schedules provided {@link Message} to be sent as a title at the end of current tick. Replaces any title or subtitle scheduled before.
+     */
+    public void sendTitle(final @NotNull Audience audience, final @NotNull Message<?> message, final long fadeIn, final long duration, final long fadeOut) {
+        final Pending update = pending.computeIfAbsent(audience, (ignored) -> new Pending());
+        // ...
+        update.title = message.snapshot();
+        update.subtitle = false;
+        update.times = Title.Times.times(Duration.ofMillis(fadeIn), Duration.ofMillis(duration), Duration.ofMillis(fadeOut));
+    }
+
+    /**
+     * Schedules provided {@link Message} to be sent as a subtitle at the end of current tick. Replaces any title or subtitle scheduled before.
+     */
+    public void sendSubtitle(final @NotNull Audience audience, final @NotNull Message<?> message, final long fadeIn, final long duration, final long fadeOut) {
+        final Pending update = pending.computeIfAbsent(audience, (ignored) -> new Pending());
+        // ...
+        update.title = message.snapshot();
+        update.subtitle = true;
+        update.times = Title.Times.times(Duration.ofMillis(fadeIn), Duration.ofMillis(duration), Duration.ofMillis(fadeOut));
+    }
+
+    /**
+     * Sends all updates scheduled during current tick. Called automatically at the end of each tick. Update which fails to parse or send is logged and discarded.
+     */
+    public void flush() {
+        // Nothing to flush.
+        if (pending.isEmpty() == true)
+            return;
+        // Taking updates of this tick before sending them. Failing update is not retried on the next tick, and updates scheduled while flushing are kept for the next one.
+        final Map<Audience, Pending> updates = new HashMap<>(pending);
+        pending.clear();
+        // ...
+        final long now = currentTimeMillis();
+        // Iterating over all audiences that received an update during this tick.
+        for (final Map.Entry<Audience, Pending> entry : updates.entrySet()) {
+            final Audience audience = entry.getKey();
+            final Pending update = entry.getValue();
+            final Shown current = shown.computeIfAbsent(audience, (ignored) -> new Shown());
+            // Sending the latest action bar and title. Wrapped with try-catch blocks to make sure one failure does not stop the whole batch.
+            if (update.actionBar != null) {
+                try {
+                    this.flushActionBar(audience, update, current, now);
+                } catch (final Exception e) {
+                    plugin.getLogger().log(Level.SEVERE, "An error occurred while sending an action bar.", e);
+                }
+            }
+            if (update.title != null) {
+                try {
+                    this.flushTitle(audience, update, current, now);
+                } catch (final Exception e) {
+                    plugin.getLogger().log(Level.SEVERE, "An error occurred while sending a title.", e);
+                }
+            }
+        }
+    }
+
+    // Sends the latest action bar, unless audience is already seeing it.
+    private void flushActionBar(final @NotNull Audience audience, final @NotNull Pending update, final @NotNull Shown current, final long now) {
+        final @Nullable Component component = update.actionBar.get();
+        // ...
+        if (component != null && (component.equals(current.actionBar) == false || now - current.actionBarSentAt >= refreshInterval)) {
+            audience.sendActionBar(component);
+            current.actionBar = component;
+            current.actionBarSentAt = now;
+        }
+    }
+
+    // Sends the latest title, unless audience is already seeing it.
+    private void flushTitle(final @NotNull Audience audience, final @NotNull Pending update, final @NotNull Shown current, final long now) {
+        final @Nullable Component component = update.title.get();
+        // ...
+        if (component != null) {
+            final Title title = (update.subtitle == true) ? Title.title(empty(), component, update.times) : Title.title(component, empty(), update.times);
+            // Title is considered visible until it starts fading out.
+            if (title.equals(current.title) == false || now >= current.titleVisibleUntil) {
+                audience.showTitle(title);
+                current.title = title;
+                current.titleVisibleUntil = now + update.times.fadeIn().toMillis() + update.times.stay().toMillis();
+            }
+        }
+    }
+
+    /**
+     * Unregisters (this) {@link MessageCoalescer} from the server, discarding all scheduled updates.
+     */
+    public void unregister() {
+        HandlerList.unregisterAll(this);
+        pending.clear();
+        shown.clear();
+    }
+
+    @EventHandler
+    public void onTickEnd(final @NotNull ServerTickEndEvent event) {
+        this.flush();
+    }
+
+    @EventHandler
+    public void onPlayerQuit(final @NotNull PlayerQuitEvent event) {
+        pending.remove(event.getPlayer());
+        shown.remove(event.getPlayer());
+    }
+
+    private static final class Pending {
+        @Nullable Supplier<Component> actionBar;
+        @Nullable Supplier<Component> title;
+        boolean subtitle;
+        Title.Times times;
+    }
+
+    private static final class Shown {
+        @Nullable Component actionBar;
+        long actionBarSentAt;
+        @Nullable Title title;
+        long titleVisibleUntil;
+    }
+
+    private record CoalescingSendable(@NotNull MessageCoalescer coalescer, @NotNull Sendable sendable) implements Sendable {
+
+        @Override
+        public void send(final @NotNull Audience audience) {
+            sendable.send(audience);
+        }
+
+        @Override
+        public void sendTitle(final @NotNull Audience audience, final long fadeIn, final long duration, final long fadeOut) {
+            if (sendable instanceof Message<?> message)
+                coalescer.sendTitle(audience, message, fadeIn, duration, fadeOut);
+            else sendable.sendTitle(audience, fadeIn, duration, fadeOut);
+        }
+
+        @Override
+        public void sendSubtitle(final @NotNull Audience audience, final long fadeIn, final long duration, final long fadeOut) {
+            if (sendable instanceof Message<?> message)
+                coalescer.sendSubtitle(audience, message, fadeIn, duration, fadeOut);
+            else sendable.sendSubtitle(audience, fadeIn, duration, fadeOut);
+        }
+
+        @Override
+        public void sendActionBar(final @NotNull Audience audience) {
+            if (sendable instanceof Message<?> message)
+                coalescer.sendActionBar(audience, message);
+            else sendable.sendActionBar(audience);
+        }
+
+        @Override
+        public void broadcast(final @NotNull Predicate<Player> predicate) {
+            sendable.broadcast(predicate);
+        }
+
+        @Override
+        public void broadcast() {
+            sendable.broadcast();
+        }
+
+    }
+
+}
@@ -0,0 +1,295 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.components;
+
+import cloud.grabsky.bedrock.BedrockScheduler;
+import cloud.grabsky.bedrock.Sendable;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static net.kyori.adventure.text.Component.empty;
+
+/**
+ * {@link MessageDispatcher} parses messages on worker threads and delivers them on the main thread, in one batch per tick.
+ * <p>
+ * Messages sent to the same {@link Audience} are delivered in the same order they were submitted in. Messages sent to different audiences
+ * are independent; message which takes long to parse holds back only messages of its own audience.
+ * <p>
+ * Number of messages waiting to be delivered, including those being parsed, is bounded by {@code capacity}. Messages submitted above that limit
+ * are dropped and counted. See {@link MessageDispatcher#getRejectedCount()}.
+ */
+public final class MessageDispatcher {
+
+    // Key of messages submitted without an audience, and of broadcasts.
+    private static final Object SHARED = new Object();
+
+    private final @NotNull BedrockScheduler scheduler;
+    private final @NotNull ExecutorService executor;
+
+    // Permits for messages waiting to be delivered. Acquired upon submission and released upon delivery.
+    private final @NotNull Semaphore permits;
+
+    // Deliveries of each audience, in order of submission. Queues are created and removed through compute methods, so a delivery is never added to a removed queue.
+    private final ConcurrentHashMap<Object, ConcurrentLinkedQueue<Delivery>> deliveries = new ConcurrentHashMap<>();
+
+    // Number of messages dropped due to the dispatcher being full or the executor rejecting them.
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final @NotNull BukkitTask flushTask;
+
+    /**
+     * Creates new {@link MessageDispatcher} which parses messages on virtual threads.
+     *
+     * @param scheduler scheduler of the plugin, used to deliver messages each tick
+     * @param capacity max number of messages waiting to be delivered
+     */
+    public MessageDispatcher(final @NotNull BedrockScheduler scheduler, final int capacity) {
+        this(scheduler, capacity, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Creates new {@link MessageDispatcher} which parses messages using provided {@link ExecutorService}.
+     *
+     * @param scheduler scheduler of the plugin, used to deliver messages each tick
+     * @param capacity max number of messages waiting to be delivered
+     * @param executor executor used to parse messages; shut down together with this dispatcher
+     */
+    public MessageDispatcher(final @NotNull BedrockScheduler scheduler, final int capacity, final @NotNull ExecutorService executor) {
+        this.scheduler = scheduler;
+        this.executor = executor;
+        this.permits = new Semaphore(capacity);
+        // Delivering messages each tick. Dispatcher can be created lazily within scope of a group, but it must outlive it.
+        this.flushTask = scheduler.detached().repeat(1L, 1L, Long.MAX_VALUE, (cycle) -> {
+            this.flush();
+            return true;
+        });
+    }
+
+    /**
+     * Returns asynchronous view of provided {@link Sendable}. Messages are parsed using state captured at the time of sending.
+     * Messages sent while the dispatcher is full are dropped. See {@link MessageDispatcher#getRejectedCount()}.
+     */
+    public @NotNull Sendable wrap(final @NotNull Sendable sendable) {
+        return new AsyncSendable(this, sendable);
+    }
+
+    /**
+     * Submits {@link Component} to be parsed on a worker thread by provided {@link Supplier} {@code (parser)}, and then delivered to provided {@link Consumer} {@code (delivery)}
+     * on the main thread. Parser returning {@code null} skips the delivery. Messages submitted through this method are delivered in order of submission.
+     * <p>
+     * Returns {@code false} if the dispatcher is full or the executor rejected the task, in which case message is dropped.
+     */
+    public boolean submit(final @NotNull Supplier<Component> parser, final @NotNull Consumer<Component> delivery) {
+        return this.enqueue(SHARED, parser, delivery);
+    }
+
+    /**
+     * Submits {@link Component} to be parsed on a worker thread by provided {@link Supplier} {@code (parser)}, and then delivered to provided {@link Consumer} {@code (delivery)}
+     * on the main thread. Parser returning {@code null} skips the delivery. Messages submitted with the same {@code (audience)} are delivered in order of submission.
+     * <p>
+     * Returns {@code false} if the dispatcher is full or the executor rejected the task, in which case message is dropped.
+     */
+    public boolean submit(final @NotNull Audience audience, final @NotNull Supplier<Component> parser, final @NotNull Consumer<Component> delivery) {
+        return this.enqueue(audience, parser, delivery);
+    }
+
+    private boolean enqueue(final @NotNull Object key, final @NotNull Supplier<Component> parser, final @NotNull Consumer<Component> delivery) {
+        // Dropping message in case dispatcher is full. Permit is held until the message is delivered, which bounds the number of messages in memory.
+        if (permits.tryAcquire() == false) {
+            rejected.incrementAndGet();
+            return false;
+        }
+        final CompletableFuture<Component> parsed;
+        // Scheduling parsing of the message. Permit must be given back if executor refuses to take the task, otherwise capacity would leak.
+        try {
+            parsed = CompletableFuture.supplyAsync(parser, executor);
+        } catch (final RejectedExecutionException e) {
+            permits.release();
+            rejected.incrementAndGet();
+            return false;
+        }
+        // Queue order is the delivery order of the audience.
+        deliveries.compute(key, (ignored, queue) -> {
+            final ConcurrentLinkedQueue<Delivery> existing = (queue != null) ? queue : new ConcurrentLinkedQueue<>();
+            existing.add(new Delivery(parsed, delivery));
+            return existing;
+        });
+        return true;
+    }
+
+    /**
+     * Returns number of messages waiting to be delivered.
+     */
+    public int getPendingCount() {
+        int count = 0;
+        // ...
+        for (final ConcurrentLinkedQueue<Delivery> queue : deliveries.values())
+            count += queue.size();
+        // ...
+        return count;
+    }
+
+    /**
+     * Returns number of messages dropped due to the dispatcher being full or the executor rejecting them.
+     * Non-zero value means capacity is too low for the load, or the executor has been shut down.
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Stops (this) {@link MessageDispatcher}. Messages waiting to be delivered are discarded.
+     */
+    public void shutdown() {
+        flushTask.cancel();
+        executor.shutdownNow();
+        deliveries.clear();
+    }
+
+    private void flush() {
+        for (final Object key : deliveries.keySet()) {
+            final @Nullable ConcurrentLinkedQueue<Delivery> queue = deliveries.get(key);
+            // Removed by shutdown in the meantime.
+            if (queue == null)
+                continue;
+            @Nullable Delivery delivery;
+            // Delivering messages of the audience until the first one that has not been parsed yet. This is what keeps them in order.
+            while ((delivery = queue.peek()) != null && delivery.parsed.isDone() == true) {
+                queue.poll();
+                permits.release();
+                final @Nullable Component component;
+                // Skipping messages that failed to parse.
+                try {
+                    component = delivery.parsed.join();
+                } catch (final Exception e) {
+                    scheduler.getPlugin().getLogger().log(Level.SEVERE, "An error occurred while parsing a message.", e);
+                    continue;
+                }
+                // Skipping empty messages.
+                if (component == null)
+                    continue;
+                // Delivering the message. Wrapped with a try-catch block to make sure one failure does not stop the whole batch.
+                try {
+                    delivery.target.accept(component);
+                } catch (final Exception e) {
+                    scheduler.getPlugin().getLogger().log(Level.SEVERE, "An error occurred while delivering a message.", e);
+                }
+            }
+            // Removing queue of the audience once it's empty. Done atomically, so message submitted in the meantime is not lost.
+            deliveries.computeIfPresent(key, (ignored, existing) -> (existing.isEmpty() == true) ? null : existing);
+        }
+    }
+
+    private record Delivery(@NotNull CompletableFuture<Component> parsed, @NotNull Consumer<Component> target) { /* EMPTY */ }
+
+    private record AsyncSendable(@NotNull MessageDispatcher dispatcher, @NotNull Sendable sendable) implements Sendable {
+
+        // Returns parser of the wrapped Sendable. Sendables other than Message are sent as-is on the main thread.
+        private @NotNull Supplier<Component> parser() {
+            return (sendable instanceof Message<?> message) ? message.snapshot() : Component::empty;
+        }
+
+        @Override
+        public void send(final @NotNull Audience audience) {
+            if (sendable instanceof Message<?>)
+                dispatcher.submit(audience, this.parser(), audience::sendMessage);
+            else dispatcher.submit(audience, this.parser(), (ignored) -> sendable.send(audience));
+        }
+
+        @Override
+        public void sendTitle(final @NotNull Audience audience, final long fadeIn, final long duration, final long fadeOut) {
+            final Title.Times times = Title.Times.times(Duration.ofMillis(fadeIn), Duration.ofMillis(duration), Duration.ofMillis(fadeOut));
+            // ...
+            if (sendable instanceof Message<?>)
+                dispatcher.submit(audience, this.parser(), (component) -> audience.showTitle(Title.title(component, empty(), times)));
+            else dispatcher.submit(audience, this.parser(), (ignored) -> sendable.sendTitle(audience, fadeIn, duration, fadeOut));
+        }
+
+        @Override
+        public void sendSubtitle(final @NotNull Audience audience, final long fadeIn, final long duration, final long fadeOut) {
+            final Title.Times times = Title.Times.times(Duration.ofMillis(fadeIn), Duration.ofMillis(duration), Duration.ofMillis(fadeOut));
+            // ...
+            if (sendable instanceof Message<?>)
+                dispatcher.submit(audience, this.parser(), (component) -> audience.showTitle(Title.title(empty(), component, times)));
+            else dispatcher.submit(audience, this.parser(), (ignored) -> sendable.sendSubtitle(audience, fadeIn, duration, fadeOut));
+        }
+
+        @Override
+        public void sendActionBar(final @NotNull Audience audience) {
+            if (sendable instanceof Message<?>)
+                dispatcher.submit(audience, this.parser(), audience::sendActionBar);
+            else dispatcher.submit(audience, this.parser(), (ignored) -> sendable.sendActionBar(audience));
+        }
+
+        @Override
+        public void broadcast(final @NotNull Predicate<Player> predicate) {
+            if (sendable instanceof Message<?>)
+                dispatcher.submit(this.parser(), (component) -> {
+                    boolean matched = false;
+                    // Iterating over online players on the main thread, at the time of delivery.
+                    for (final Player player : Bukkit.getOnlinePlayers()) {
+                        if (predicate.test(player) == false)
+                            continue;
+                        // Broadcasting message to the console on first match.
+                        if (matched == false) {
+                            Bukkit.getConsoleSender().sendMessage(component);
+                            matched = true;
+                        }
+                        player.sendMessage(component);
+                    }
+                });
+            else dispatcher.submit(this.parser(), (ignored) -> sendable.broadcast(predicate));
+        }
+
+        @Override
+        public void broadcast() {
+            if (sendable instanceof Message<?>)
+                dispatcher.submit(this.parser(), Bukkit::broadcast);
+            else dispatcher.submit(this.parser(), (ignored) -> sendable.broadcast());
+        }
+
+    }
+
+}
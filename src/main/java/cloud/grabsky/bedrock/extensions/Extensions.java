@@ -1,7 +1,7 @@
 package cloud.grabsky.bedrock.extensions;
 
+import cloud.grabsky.bedrock.components.ComponentCache;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 
 import org.jetbrains.annotations.NotNull;
 
@@ -16,10 +16,17 @@ import lombok.NoArgsConstructor;
 public final class Extensions {
 
     /**
-     * Returns plain text content of this {@link Component}.
+     * Returns plain text content of this {@link Component}. Result is memoised per {@link Component} instance. See {@link ComponentCache}.
      */
     public static @NotNull String content(final @NotNull Component component) {
-        return PlainTextComponentSerializer.plainText().serialize(component);
+        return ComponentCache.plainText(component);
+    }
+
+    /**
+     * Appends plain text content of this {@link Component} to provided {@link StringBuilder}. See {@link ComponentCache#plainText(Component, StringBuilder)}.
+     */
+    public static void content(final @NotNull Component component, final @NotNull StringBuilder builder) {
+        ComponentCache.plainText(component, builder);
     }
 
 }
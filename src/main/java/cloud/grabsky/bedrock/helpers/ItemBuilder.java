@@ -23,6 +23,7 @@
  */
 package cloud.grabsky.bedrock.helpers;
 
+import cloud.grabsky.bedrock.components.GlobalComponentSerializer;
 import com.destroystokyo.paper.profile.PlayerProfile;
 import com.destroystokyo.paper.profile.ProfileProperty;
 import net.kyori.adventure.text.Component;
@@ -79,14 +80,14 @@ public final class ItemBuilder {
     }
 
     public @NotNull ItemBuilder setName(final @NotNull String name) {
-        meta.displayName(miniMessage().deserialize(name));
+        meta.displayName(deserialize(name));
         return this;
     }
 
     public @NotNull ItemBuilder setLore(final @NotNull String... lines) {
         meta.lore(
                 Stream.of(lines)
-                        .map(s -> miniMessage().deserialize(s))
+                        .map(ItemBuilder::deserialize)
                         .toList()
         );
         return this;
@@ -103,7 +104,7 @@ public final class ItemBuilder {
     }
 
     public @NotNull ItemBuilder addLore(final @NotNull String... lines) {
-        meta.lore(merge(meta.lore(), toList(lines, (e) -> miniMessage().deserialize(e))));
+        meta.lore(merge(meta.lore(), toList(lines, ItemBuilder::deserialize)));
         return this;
     }
 
@@ -184,4 +185,9 @@ public final class ItemBuilder {
         return item;
     }
 
+    private static @NotNull Component deserialize(final @NotNull String text) {
+        // Skipping MiniMessage for text that contains no tags.
+        return (GlobalComponentSerializer.isPlain(text) == true) ? Component.text(text) : miniMessage().deserialize(text);
+    }
+
 }
\ No newline at end of file
@@ -56,7 +56,10 @@ public final class BedrockPanel extends Panel {
 
         @Override
         public @NotNull BedrockPanel build() {
-            return new BedrockPanel(this.title, this.inventoryType, this.rows, this.onInventoryOpen, this.onInventoryClose, this.onInventoryClick);
+            final BedrockPanel panel = new BedrockPanel(this.title, this.inventoryType, this.rows, this.onInventoryOpen, this.onInventoryClose, this.onInventoryClick);
+            // ...
+            panel.setClickCooldown(this.clickCooldown);
+            return panel;
         }
 
     }
@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.inventory;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * {@link ClickCooldown} limits how often a viewer can click a {@link Panel}. Clicks are allowed in bursts of up to {@code (burst)} clicks,
+ * with one click replenished each {@code (interval)} milliseconds. Burst of {@code 1} is a plain cooldown.
+ *
+ * @param interval time in milliseconds it takes to replenish one click; {@code 0} disables the cooldown
+ * @param burst max number of clicks allowed back-to-back
+ */
+public record ClickCooldown(long interval, int burst) {
+
+    /**
+     * No cooldown; all clicks are allowed.
+     */
+    public static final ClickCooldown NONE = new ClickCooldown(0L, 1);
+
+    /**
+     * Default cooldown of 200 milliseconds between clicks.
+     */
+    public static final ClickCooldown DEFAULT = new ClickCooldown(200L, 1);
+
+    public ClickCooldown {
+        if (interval < 0L)
+            throw new IllegalArgumentException("Interval cannot be negative.");
+        if (burst < 1)
+            throw new IllegalArgumentException("Burst must be greater than 0.");
+    }
+
+    /**
+     * Returns {@link ClickCooldown} which allows one click per {@code (interval)} milliseconds.
+     */
+    public static @NotNull ClickCooldown of(final long interval) {
+        return new ClickCooldown(interval, 1);
+    }
+
+    /**
+     * Returns {@link ClickCooldown} which allows bursts of up to {@code (burst)} clicks, with one click replenished each {@code (interval)} milliseconds.
+     */
+    public static @NotNull ClickCooldown of(final long interval, final int burst) {
+        return new ClickCooldown(interval, burst);
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.inventory;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * {@link CooldownTable} stores click cooldowns of viewers, keyed by {@link UUID} and scope, which is either a slot or {@code -1} for the whole panel.
+ * <p>
+ * Cooldowns are token buckets, implemented using generic cell rate algorithm (GCRA); each entry is a single {@code long}, the time at which bucket is full again.
+ * Entries past that time are equivalent to missing ones and are dropped upon next resize. Keys and values are kept in parallel primitive arrays with linear probing,
+ * so checking a cooldown does not allocate.
+ *
+ * @apiNote {@link CooldownTable} must be accessed from the main thread only.
+ */
+final class CooldownTable {
+
+    // Scope of free entries.
+    private static final int FREE = Integer.MIN_VALUE;
+
+    private static final int MIN_CAPACITY = 64;
+
+    private long[] mostSignificantBits;
+    private long[] leastSignificantBits;
+    private int[] scopes;
+    private long[] fullAt;
+
+    // Number of used entries, including expired ones.
+    private int size;
+
+    CooldownTable() {
+        this.allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Takes a click from the bucket of provided viewer and scope. Returns {@code false} if bucket is empty and click should be ignored.
+     */
+    boolean tryAcquire(final @NotNull UUID viewer, final int scope, final @NotNull ClickCooldown cooldown, final long now) {
+        // Nothing to check.
+        if (cooldown.interval() == 0L)
+            return true;
+        final long msb = viewer.getMostSignificantBits();
+        final long lsb = viewer.getLeastSignificantBits();
+        final int mask = scopes.length - 1;
+        // Looking up the entry...
+        int index = hash(msb, lsb, scope) & mask;
+        while (scopes[index] != FREE) {
+            if (scopes[index] == scope && mostSignificantBits[index] == msb && leastSignificantBits[index] == lsb) {
+                // Bucket is full again once its time has passed. Each click moves that time by one interval; click is rejected if that would exceed the burst.
+                final long current = Math.max(fullAt[index], now);
+                // ...
+                if (current - now > cooldown.interval() * (cooldown.burst() - 1))
+                    return false;
+                fullAt[index] = current + cooldown.interval();
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        // Entry is missing, so bucket is full. Resizing first in case table is more than half full; index must be looked up again afterwards.
+        if (size + 1 > scopes.length / 2) {
+            this.resize(now);
+            this.insert(msb, lsb, scope, now + cooldown.interval());
+        } else this.insertAt(index, msb, lsb, scope, now + cooldown.interval());
+        return true;
+    }
+
+    /**
+     * Expires all entries of provided viewer. They are dropped upon next resize.
+     */
+    void purge(final @NotNull UUID viewer) {
+        final long msb = viewer.getMostSignificantBits();
+        final long lsb = viewer.getLeastSignificantBits();
+        // Scanning the whole table, as viewer may have entries of multiple scopes.
+        for (int i = 0; i < scopes.length; i++)
+            if (scopes[i] != FREE && mostSignificantBits[i] == msb && leastSignificantBits[i] == lsb)
+                fullAt[i] = Long.MIN_VALUE;
+    }
+
+    /**
+     * Returns number of used entries, including expired ones.
+     */
+    int size() {
+        return size;
+    }
+
+    // Re-creates the table with expired entries dropped. Capacity is adjusted, so table is at most a quarter full afterwards.
+    private void resize(final long now) {
+        final long[] oldMostSignificantBits = mostSignificantBits;
+        final long[] oldLeastSignificantBits = leastSignificantBits;
+        final int[] oldScopes = scopes;
+        final long[] oldFullAt = fullAt;
+        // Counting live entries.
+        int live = 0;
+        for (int i = 0; i < oldScopes.length; i++)
+            if (oldScopes[i] != FREE && oldFullAt[i] > now)
+                live++;
+        // Picking capacity. Table can shrink too, in case most entries have expired.
+        int capacity = MIN_CAPACITY;
+        while (capacity < (live + 1) * 4)
+            capacity <<= 1;
+        // Re-inserting live entries.
+        this.allocate(capacity);
+        for (int i = 0; i < oldScopes.length; i++)
+            if (oldScopes[i] != FREE && oldFullAt[i] > now)
+                this.insert(oldMostSignificantBits[i], oldLeastSignificantBits[i], oldScopes[i], oldFullAt[i]);
+    }
+
+    private void allocate(final int capacity) {
+        this.mostSignificantBits = new long[capacity];
+        this.leastSignificantBits = new long[capacity];
+        this.scopes = new int[capacity];
+        this.fullAt = new long[capacity];
+        this.size = 0;
+        // ...
+        Arrays.fill(scopes, FREE);
+    }
+
+    // Inserts entry that is known to be missing.
+    private void insert(final long msb, final long lsb, final int scope, final long fullAt) {
+        final int mask = scopes.length - 1;
+        int index = hash(msb, lsb, scope) & mask;
+        // Finding first free entry.
+        while (scopes[index] != FREE)
+            index = (index + 1) & mask;
+        // ...
+        this.insertAt(index, msb, lsb, scope, fullAt);
+    }
+
+    private void insertAt(final int index, final long msb, final long lsb, final int scope, final long fullAt) {
+        this.mostSignificantBits[index] = msb;
+        this.leastSignificantBits[index] = lsb;
+        this.scopes[index] = scope;
+        this.fullAt[index] = fullAt;
+        this.size++;
+    }
+
+    // Returns hash of provided key. Bits of random UUIDs are already well distributed; mixing makes sure the scope affects the low bits too.
+    private static int hash(final long msb, final long lsb, final int scope) {
+        long hash = msb ^ lsb ^ (scope * 0x9E3779B97F4A7C15L);
+        // ...
+        hash ^= (hash >>> 33);
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= (hash >>> 33);
+        // ...
+        return (int) hash;
+    }
+
+}
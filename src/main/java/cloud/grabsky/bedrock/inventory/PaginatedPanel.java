@@ -0,0 +1,562 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.inventory;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * {@link PaginatedPanel} displays entries pulled from a {@link DataSource}, one page (or scrolled window) at a time.
+ * <p>
+ * Entries are fetched in pages of {@link PaginatedPanel#getPageSize() page size}, which is the number of content slots. {@link ItemStack ItemStacks}
+ * and {@link ClickAction ClickActions} are created only for entries that are actually displayed. Pages are kept in a LRU cache of limited size,
+ * together with neighbouring pages fetched ahead of time, so memory usage depends on size of the viewport and not on size of the data set.
+ *
+ * @apiNote Contents are drawn using {@link Panel#render(Consumer)}; slots outside of content slots should be drawn by the decorator.
+ */
+public final class PaginatedPanel<E> extends Panel {
+
+    /**
+     * {@link DataSource} provides entries of a {@link PaginatedPanel}. Asynchronous sources, like database cursors, can implement it directly
+     * and return futures completed on a different thread.
+     */
+    @FunctionalInterface
+    public interface DataSource<E> {
+
+        /**
+         * Returns {@link CompletableFuture} of at most {@code (limit)} entries, starting at {@code (offset)}. Returning fewer entries than requested
+         * marks the end of data.
+         */
+        @NotNull CompletableFuture<List<E>> fetch(final int offset, final int limit);
+
+        /**
+         * Returns {@link DataSource} backed by provided {@link List}. Changes made to the list are visible once affected pages are re-fetched.
+         */
+        static <E> @NotNull DataSource<E> of(final @NotNull List<E> list) {
+            return (offset, limit) -> CompletableFuture.completedFuture(slice(list, offset, limit));
+        }
+
+        /**
+         * Returns {@link DataSource} backed by a {@link List} provided by {@link Supplier}, which is called each time a page is fetched.
+         */
+        static <E> @NotNull DataSource<E> of(final @NotNull Supplier<List<E>> supplier) {
+            return (offset, limit) -> CompletableFuture.completedFuture(slice(supplier.get(), offset, limit));
+        }
+
+        private static <E> @NotNull List<E> slice(final @NotNull List<E> list, final int offset, final int limit) {
+            // Nothing left to fetch.
+            if (offset >= list.size())
+                return List.of();
+            // Copying, so page does not keep the whole list alive.
+            return new ArrayList<>(list.subList(offset, Math.min(list.size(), offset + limit)));
+        }
+
+    }
+
+    /**
+     * Returns index of the first displayed entry.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private int offset;
+
+    private final @NotNull DataSource<E> source;
+
+    // Content slots, in order entries are displayed in.
+    private final int @NotNull [] slots;
+
+    private final @NotNull Function<E, ItemStack> itemMapper;
+    private final @Nullable Function<E, ClickAction> actionMapper;
+
+    private final @Nullable Consumer<Frame> decorator;
+    private final @Nullable ItemStack loadingItem;
+
+    private final int previousSlot;
+    private final @Nullable ItemStack previousItem;
+    private final int nextSlot;
+    private final @Nullable ItemStack nextItem;
+
+    // Executor used to handle pages fetched asynchronously. Must execute tasks on the main thread.
+    private final @Nullable Executor executor;
+
+    // Pages by their index, in access order. Least recently used pages are evicted first.
+    private final @NotNull Map<Integer, Page<E>> pages;
+
+    // Indexes of pages being fetched.
+    private final @NotNull Set<Integer> loading = new HashSet<>();
+
+    // Incremented on invalidation. Pages fetched with older generation are discarded.
+    private int generation = 0;
+
+    // Kept as fields, so drawing does not allocate.
+    private final @NotNull Consumer<Frame> drawer = this::draw;
+    private final @NotNull ClickAction previousAction = (event) -> this.previousPage();
+    private final @NotNull ClickAction nextAction = (event) -> this.nextPage();
+
+    private PaginatedPanel(final @NotNull Builder<E> builder) {
+        super(builder.title, builder.inventoryType, builder.rows, builder.onInventoryOpen, builder.onInventoryClose, builder.onInventoryClick);
+        // ...
+        this.source = builder.source;
+        this.itemMapper = builder.itemMapper;
+        this.actionMapper = builder.actionMapper;
+        this.decorator = builder.decorator;
+        this.loadingItem = builder.loadingItem;
+        this.previousSlot = builder.previousSlot;
+        this.previousItem = builder.previousItem;
+        this.nextSlot = builder.nextSlot;
+        this.nextItem = builder.nextItem;
+        this.executor = builder.executor;
+        // Defaulting to all slots but these taken by navigation buttons.
+        this.slots = (builder.slots != null) ? builder.slots.clone() : defaultSlots(inventory.getSize(), previousSlot, nextSlot);
+        // ...
+        final int capacity = builder.cacheSize;
+        this.pages = new LinkedHashMap<>(capacity + 1, 0.75F, true) {
+
+            @Override
+            protected boolean removeEldestEntry(final @NotNull Map.Entry<Integer, Page<E>> eldest) {
+                return this.size() > capacity;
+            }
+
+        };
+    }
+
+    /**
+     * Returns number of entries displayed at once, which is the number of content slots.
+     */
+    public int getPageSize() {
+        return slots.length;
+    }
+
+    /**
+     * Returns index of the page containing the first displayed entry.
+     */
+    public int getPage() {
+        return offset / slots.length;
+    }
+
+    /**
+     * Returns {@code true} if there are entries before the first displayed one.
+     */
+    public boolean hasPreviousPage() {
+        return offset > 0;
+    }
+
+    /**
+     * Returns {@code true} if there are entries after the last displayed one. Returns {@code false} while that is not known yet.
+     */
+    public boolean hasNextPage() {
+        final int end = offset + slots.length;
+        final int index = (end - 1) / slots.length;
+        final @Nullable Page<E> page = pages.get(index);
+        // ...
+        return page != null && (page.last == false || end < index * slots.length + page.entries.size());
+    }
+
+    /**
+     * Displays page of specified index.
+     */
+    public void setPage(final int page) {
+        this.setOffset(page * slots.length);
+    }
+
+    /**
+     * Displays next page, if there is one.
+     */
+    public void nextPage() {
+        if (this.hasNextPage() == true)
+            this.setOffset(offset + slots.length);
+    }
+
+    /**
+     * Displays previous page, if there is one.
+     */
+    public void previousPage() {
+        if (this.hasPreviousPage() == true)
+            this.setOffset(offset - slots.length);
+    }
+
+    /**
+     * Moves displayed window by specified number of entries. Panels with content slots spanning full rows can scroll by a row by passing {@code 9} or {@code -9}.
+     */
+    public void scroll(final int entries) {
+        // Not scrolling past the end of data.
+        if (entries > 0 && this.hasNextPage() == false)
+            return;
+        // ...
+        this.setOffset(offset + entries);
+    }
+
+    /**
+     * Displays entries starting at specified index.
+     */
+    public void setOffset(final int offset) {
+        this.offset = Math.max(offset, 0);
+        this.refresh();
+    }
+
+    /**
+     * Re-draws (this) {@link PaginatedPanel}, fetching pages that are not cached yet.
+     */
+    public void refresh() {
+        final int first = offset / slots.length;
+        final int last = (offset + slots.length - 1) / slots.length;
+        // Fetching pages covering the viewport. Pages provided synchronously are drawn right away.
+        for (int index = first; index <= last; index++)
+            this.fetch(index);
+        // ...
+        this.render(drawer);
+        // Fetching neighbouring pages ahead of time.
+        if (first > 0)
+            this.fetch(first - 1);
+        if (this.hasNextPage() == true)
+            this.fetch(last + 1);
+    }
+
+    /**
+     * Discards all cached pages and re-draws (this) {@link PaginatedPanel}. Should be called after underlying data has changed.
+     */
+    public void invalidate() {
+        generation++;
+        pages.clear();
+        loading.clear();
+        // ...
+        this.refresh();
+    }
+
+    private void fetch(final int index) {
+        // Page is already cached or being fetched.
+        if (pages.containsKey(index) == true || loading.contains(index) == true)
+            return;
+        final int generation = this.generation;
+        // Fetching one entry more than needed, to find out whether there is a next page.
+        final CompletableFuture<List<E>> future = source.fetch(index * slots.length, slots.length + 1);
+        // Handling completed futures in place, so synchronous sources are drawn without waiting for the executor.
+        if (future.isDone() == true) {
+            try {
+                pages.put(index, new Page<>(future.join(), slots.length));
+            } catch (final CompletionException | CancellationException e) {
+                e.printStackTrace();
+            }
+            return;
+        }
+        // ...
+        if (executor == null)
+            throw new IllegalStateException("Executor must be specified in order to use asynchronous data sources.");
+        // ...
+        loading.add(index);
+        future.whenCompleteAsync((entries, error) -> {
+            // Page has been invalidated in the meantime.
+            if (generation != this.generation)
+                return;
+            loading.remove(index);
+            // ...
+            if (error != null) {
+                error.printStackTrace();
+                return;
+            }
+            pages.put(index, new Page<>(entries, slots.length));
+            final int first = offset / slots.length;
+            final int last = (offset + slots.length - 1) / slots.length;
+            // Re-drawing and fetching neighbours, in case fetched page is visible.
+            if (index >= first && index <= last)
+                this.refresh();
+            // Re-drawing navigation buttons, in case fetched page is a neighbour.
+            else if (index == first - 1 || index == last + 1)
+                this.render(drawer);
+        }, executor);
+    }
+
+    private void draw(final @NotNull Frame frame) {
+        // Drawing static contents first, so entries and navigation are drawn over them.
+        if (decorator != null)
+            decorator.accept(frame);
+        // Drawing entries of the visible window.
+        for (int i = 0; i < slots.length; i++) {
+            final int entry = offset + i;
+            final int index = entry / slots.length;
+            final @Nullable Page<E> page = pages.get(index);
+            // Page is still being fetched.
+            if (page == null) {
+                frame.setItem(slots[i], loadingItem, null);
+                continue;
+            }
+            final int local = entry - index * slots.length;
+            // Past the end of data.
+            if (local >= page.entries.size()) {
+                frame.setItem(slots[i], null, null);
+                continue;
+            }
+            page.map(local, itemMapper, actionMapper);
+            // ...
+            frame.setItem(slots[i], page.items[local], page.actions[local]);
+        }
+        // Drawing navigation buttons, when there is somewhere to navigate to.
+        if (previousItem != null && this.hasPreviousPage() == true)
+            frame.setItem(previousSlot, previousItem, previousAction);
+        if (nextItem != null && this.hasNextPage() == true)
+            frame.setItem(nextSlot, nextItem, nextAction);
+    }
+
+    private static int @NotNull [] defaultSlots(final int size, final int previousSlot, final int nextSlot) {
+        return IntStream.range(0, size).filter(slot -> slot != previousSlot && slot != nextSlot).toArray();
+    }
+
+    // Entries of a single page. ItemStacks and ClickActions are created on first display and kept for as long as page is cached.
+    private static final class Page<E> {
+
+        private final @NotNull List<E> entries;
+        private final @Nullable ItemStack @NotNull [] items;
+        private final @Nullable ClickAction @NotNull [] actions;
+
+        // Whether this is the last page.
+        private final boolean last;
+
+        // Whether ItemStack and ClickAction of each entry have been created already, as mappers are allowed to return null.
+        private final boolean @NotNull [] mapped;
+
+        private Page(final @NotNull List<E> entries, final int size) {
+            this.last = entries.size() <= size;
+            this.entries = (entries.size() > size) ? new ArrayList<>(entries.subList(0, size)) : entries;
+            this.items = new ItemStack[this.entries.size()];
+            this.actions = new ClickAction[this.entries.size()];
+            this.mapped = new boolean[this.entries.size()];
+        }
+
+        private void map(final int index, final @NotNull Function<E, ItemStack> itemMapper, final @Nullable Function<E, ClickAction> actionMapper) {
+            // Already created.
+            if (mapped[index] == true)
+                return;
+            final E entry = entries.get(index);
+            // ...
+            items[index] = itemMapper.apply(entry);
+            actions[index] = (actionMapper != null) ? actionMapper.apply(entry) : null;
+            mapped[index] = true;
+        }
+
+    }
+
+    public static final class Builder<E> extends Panel.Builder<PaginatedPanel<E>> {
+
+        private @Nullable DataSource<E> source;
+
+        public @NotNull Builder<E> setDataSource(final @NotNull DataSource<E> source) {
+            this.source = source;
+            return this;
+        }
+
+        private int @Nullable [] slots;
+
+        public @NotNull Builder<E> setContentSlots(final int @NotNull ... slots) {
+            this.slots = slots;
+            return this;
+        }
+
+        public @NotNull Builder<E> setContentSlots(final int from, final int to) {
+            this.slots = IntStream.range(from, to).toArray();
+            return this;
+        }
+
+        private @Nullable Function<E, ItemStack> itemMapper;
+
+        public @NotNull Builder<E> setItemMapper(final @NotNull Function<E, ItemStack> itemMapper) {
+            this.itemMapper = itemMapper;
+            return this;
+        }
+
+        private @Nullable Function<E, ClickAction> actionMapper;
+
+        public @NotNull Builder<E> setActionMapper(final @Nullable Function<E, ClickAction> actionMapper) {
+            this.actionMapper = actionMapper;
+            return this;
+        }
+
+        private @Nullable Consumer<Frame> decorator;
+
+        public @NotNull Builder<E> setDecorator(final @Nullable Consumer<Frame> decorator) {
+            this.decorator = decorator;
+            return this;
+        }
+
+        private @Nullable ItemStack loadingItem;
+
+        public @NotNull Builder<E> setLoadingItem(final @Nullable ItemStack loadingItem) {
+            this.loadingItem = loadingItem;
+            return this;
+        }
+
+        private int previousSlot = -1;
+        private @Nullable ItemStack previousItem;
+
+        public @NotNull Builder<E> setPreviousPageButton(final int slot, final @NotNull ItemStack item) {
+            this.previousSlot = slot;
+            this.previousItem = item;
+            return this;
+        }
+
+        private int nextSlot = -1;
+        private @Nullable ItemStack nextItem;
+
+        public @NotNull Builder<E> setNextPageButton(final int slot, final @NotNull ItemStack item) {
+            this.nextSlot = slot;
+            this.nextItem = item;
+            return this;
+        }
+
+        private @Nullable Executor executor;
+
+        /**
+         * Sets {@link Executor} used to handle pages fetched asynchronously, for example {@code BedrockScheduler#mainThreadExecutor()}. Must execute tasks on the main thread.
+         */
+        public @NotNull Builder<E> setExecutor(final @Nullable Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        private int cacheSize = 8;
+
+        /**
+         * Sets max number of pages kept in the cache. Must be at least {@code 4}, to fit visible pages and their neighbours. Defaults to {@code 8}.
+         */
+        public @NotNull Builder<E> setCacheSize(final @Range(from = 4, to = Integer.MAX_VALUE) int cacheSize) {
+            if (cacheSize < 4)
+                throw new IllegalArgumentException("Cache size must be at least 4.");
+            // ...
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        // Overridden with covariant return type, so these can be chained with setters of this builder.
+
+        @Override
+        public @NotNull Builder<E> setTitle(final @NotNull Component title) {
+            super.setTitle(title);
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder<E> setInventoryType(final @NotNull InventoryType type) {
+            super.setInventoryType(type);
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder<E> setRows(final @Range(from = 0, to = 6) int rows) {
+            super.setRows(rows);
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder<E> setInventoryOpenAction(final @NotNull Consumer<InventoryOpenEvent> onInventoryOpen) {
+            super.setInventoryOpenAction(onInventoryOpen);
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder<E> setInventoryCloseAction(final @NotNull Consumer<InventoryCloseEvent> onInventoryClose) {
+            super.setInventoryCloseAction(onInventoryClose);
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder<E> setInventoryClickAction(final @NotNull Consumer<InventoryClickEvent> onInventoryClick) {
+            super.setInventoryClickAction(onInventoryClick);
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder<E> setClickCooldown(final @NotNull ClickCooldown clickCooldown) {
+            super.setClickCooldown(clickCooldown);
+            return this;
+        }
+
+        @Override
+        protected @NotNull Builder<E> self() {
+            return this;
+        }
+
+        @Override
+        public @NotNull PaginatedPanel<E> build() {
+            if (source == null)
+                throw new IllegalStateException("Data source must be specified.");
+            if (itemMapper == null)
+                throw new IllegalStateException("Item mapper must be specified.");
+            // ...
+            final PaginatedPanel<E> panel = new PaginatedPanel<>(this);
+            // ...
+            if (panel.slots.length == 0)
+                throw new IllegalStateException("At least one content slot must be specified.");
+            // Validating slots against the inventory, so misconfiguration is reported here and not upon first draw or click.
+            final int size = panel.inventory.getSize();
+            // ...
+            if (previousItem != null && (previousSlot < 0 || previousSlot >= size))
+                throw new IllegalStateException("Previous page button slot " + previousSlot + " is out of bounds of inventory of size " + size + ".");
+            if (nextItem != null && (nextSlot < 0 || nextSlot >= size))
+                throw new IllegalStateException("Next page button slot " + nextSlot + " is out of bounds of inventory of size " + size + ".");
+            // ...
+            final boolean[] taken = new boolean[size];
+            // ...
+            for (final int slot : panel.slots) {
+                if (slot < 0 || slot >= size)
+                    throw new IllegalStateException("Content slot " + slot + " is out of bounds of inventory of size " + size + ".");
+                if (slot == previousSlot || slot == nextSlot)
+                    throw new IllegalStateException("Content slot " + slot + " is taken by a navigation button.");
+                if (taken[slot] == true)
+                    throw new IllegalStateException("Content slot " + slot + " is specified more than once.");
+                taken[slot] = true;
+            }
+            // ...
+            panel.setClickCooldown(this.clickCooldown);
+            // Fetching and drawing the first page.
+            panel.refresh();
+            return panel;
+        }
+
+    }
+
+}
@@ -23,8 +23,7 @@
  */
 package cloud.grabsky.bedrock.inventory;
 
-import cloud.grabsky.bedrock.util.Interval;
-import cloud.grabsky.bedrock.util.Interval.Unit;
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.HumanEntity;
@@ -34,13 +33,17 @@ import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryOpenEvent;
 import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -61,6 +64,9 @@ public abstract class Panel implements InventoryHolder {
 
     private static final Consumer<?> EMPTY_CONSUMER = (it) -> { /* EMPTY */ };
 
+    // Marks slots of the shadow with unknown contents, which are always written upon next render.
+    private static final Object UNKNOWN = new Object();
+
     // @Getter creates override for InventoryHolder#getInventory.
     @Getter(value = AccessLevel.PUBLIC)
     protected final @NotNull Inventory inventory;
@@ -69,7 +75,27 @@ public abstract class Panel implements InventoryHolder {
     protected final @NotNull Consumer<InventoryCloseEvent> onInventoryClose;
     protected final @NotNull Consumer<InventoryClickEvent> onInventoryClick;
 
-    protected final @NotNull Map<@NotNull Integer, @Nullable ClickAction> actions;
+    // Click actions indexed by slot. Sized to the inventory, so lookups need no hashing nor boxing.
+    protected final @Nullable ClickAction @NotNull [] actions;
+
+    /**
+     * Returns {@link ClickCooldown} shared by all slots of (this) {@link Panel}, unless overridden for a specific slot. Defaults to {@link ClickCooldown#DEFAULT}.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private @NotNull ClickCooldown clickCooldown = ClickCooldown.DEFAULT;
+
+    // Cooldowns overriding the shared one, indexed by slot, or null if none has been overridden yet.
+    private @Nullable ClickCooldown @Nullable [] slotCooldowns;
+
+    // Contents of the inventory as last written by (this) Panel, indexed by slot. Used to find slots that have changed since last render.
+    // Holds copies of items, so changes made to items after rendering are detected too. Empty slots are null.
+    private final @Nullable Object @NotNull [] shadow;
+
+    // Frame reused by each render, or null if nothing has been rendered yet.
+    private @Nullable Frame frame;
+
+    // Renderer waiting to be flushed at the end of current tick, or null.
+    private @Nullable Consumer<Frame> pendingRender;
 
     protected Panel(
             final @NotNull Component title,
@@ -87,7 +113,8 @@ public abstract class Panel implements InventoryHolder {
         this.onInventoryClose = onInventoryClose;
         this.onInventoryClick = onInventoryClick;
         // ...
-        this.actions = new HashMap<>();
+        this.actions = new ClickAction[inventory.getSize()];
+        this.shadow = new Object[inventory.getSize()];
     }
 
     @Accessors(chain = true)
@@ -136,6 +163,13 @@ public abstract class Panel implements InventoryHolder {
             return this.self();
         }
 
+        protected ClickCooldown clickCooldown = ClickCooldown.DEFAULT;
+
+        public @NotNull Builder<T> setClickCooldown(final @NotNull ClickCooldown clickCooldown) {
+            this.clickCooldown = clickCooldown;
+            return this.self();
+        }
+
         protected abstract @NotNull Builder<T> self();
 
         public abstract @NotNull T build();
@@ -147,7 +181,63 @@ public abstract class Panel implements InventoryHolder {
      */
     public void setItem(final int slot, final @Nullable ItemStack item, final @Nullable ClickAction onClick) {
         inventory.setItem(slot, item);
-        actions.put(slot, onClick);
+        actions[slot] = onClick;
+        shadow[slot] = (item != null) ? UNKNOWN : null;
+    }
+
+    /**
+     * Sets contents of slots in range from {@code (from)} inclusive to {@code (to)} exclusive to given {@link ItemStack}. Optionally {@link ClickAction ClickAction} can be specified.
+     */
+    public void setItems(final int from, final int to, final @Nullable ItemStack item, final @Nullable ClickAction onClick) {
+        Objects.checkFromToIndex(from, to, actions.length);
+        // ...
+        for (int slot = from; slot < to; slot++)
+            inventory.setItem(slot, item);
+        Arrays.fill(actions, from, to, onClick);
+        Arrays.fill(shadow, from, to, (item != null) ? UNKNOWN : null);
+    }
+
+    /**
+     * Sets contents of specified slots to given {@link ItemStack}. Optionally {@link ClickAction ClickAction} can be specified.
+     */
+    public void setItems(final int @NotNull [] slots, final @Nullable ItemStack item, final @Nullable ClickAction onClick) {
+        for (final int slot : slots)
+            this.setItem(slot, item, onClick);
+    }
+
+    /**
+     * Returns {@link ClickAction ClickAction} associated with specified slot, or {@code null} if there is none or slot is out of bounds.
+     */
+    public @Nullable ClickAction getAction(final int slot) {
+        return (slot >= 0 && slot < actions.length) ? actions[slot] : null;
+    }
+
+    /**
+     * Sets {@link ClickAction ClickAction} associated with specified slot, leaving its contents as-is.
+     */
+    public void setAction(final int slot, final @Nullable ClickAction onClick) {
+        actions[slot] = onClick;
+    }
+
+    /**
+     * Sets {@link ClickCooldown} shared by all slots of (this) {@link Panel}. Clicks of each viewer are counted together, regardless of slot.
+     */
+    public void setClickCooldown(final @NotNull ClickCooldown clickCooldown) {
+        this.clickCooldown = clickCooldown;
+    }
+
+    /**
+     * Sets {@link ClickCooldown} of specified slot, overriding the shared one. Clicks on that slot are counted separately. Passing {@code null} removes the override.
+     */
+    public void setClickCooldown(final int slot, final @Nullable ClickCooldown clickCooldown) {
+        Objects.checkIndex(slot, actions.length);
+        // Allocating overrides on first use, as most panels have none.
+        if (slotCooldowns == null) {
+            if (clickCooldown == null)
+                return;
+            slotCooldowns = new ClickCooldown[actions.length];
+        }
+        slotCooldowns[slot] = clickCooldown;
     }
 
     /**
@@ -155,7 +245,20 @@ public abstract class Panel implements InventoryHolder {
      */
     public void removeItem(final int slot) {
         inventory.setItem(slot, null);
-        actions.remove(slot);
+        actions[slot] = null;
+        shadow[slot] = null;
+    }
+
+    /**
+     * Removes contents of slots in range from {@code (from)} inclusive to {@code (to)} exclusive and associated {@link ClickAction ClickActions}.
+     */
+    public void removeItems(final int from, final int to) {
+        Objects.checkFromToIndex(from, to, actions.length);
+        // ...
+        for (int slot = from; slot < to; slot++)
+            inventory.setItem(slot, null);
+        Arrays.fill(actions, from, to, null);
+        Arrays.fill(shadow, from, to, null);
     }
 
     /**
@@ -174,7 +277,67 @@ public abstract class Panel implements InventoryHolder {
      */
     public void clear() {
         inventory.clear();
-        actions.clear();
+        // Clearing in place, so applying templates does not reallocate the table.
+        Arrays.fill(actions, null);
+        Arrays.fill(shadow, null);
+    }
+
+    /**
+     * Renders contents of (this) {@link Panel} described by provided {@link Consumer} {@code (renderer)}. Slots not set by the renderer are cleared.
+     * Only slots with contents or {@link ClickAction ClickActions} different from what has been rendered previously are written to the inventory,
+     * so viewers receive updates of changed slots only. Returns number of slots written to the inventory.
+     *
+     * @apiNote Changes made to the inventory directly, bypassing methods of (this) {@link Panel}, are not detected.
+     */
+    public int render(final @NotNull Consumer<Frame> renderer) {
+        // Renderer scheduled before is obsolete now.
+        this.pendingRender = null;
+        // Reusing the frame, so rendering does not allocate once warmed up.
+        if (frame == null)
+            frame = new Frame(actions.length);
+        else frame.reset();
+        // Describing desired contents.
+        renderer.accept(frame);
+        int touched = 0;
+        // Writing slots that have changed since last render.
+        for (int slot = 0; slot < shadow.length; slot++) {
+            final @Nullable ItemStack item = frame.items[slot];
+            // Click actions are cheap to update and are not visible to viewers.
+            actions[slot] = frame.actions[slot];
+            // ...
+            if (isSame(shadow[slot], item) == true)
+                continue;
+            inventory.setItem(slot, item);
+            shadow[slot] = (item != null) ? item.clone() : null;
+            touched++;
+        }
+        // Releasing references to items of the frame.
+        frame.reset();
+        return touched;
+    }
+
+    /**
+     * Schedules contents described by provided {@link Consumer} {@code (renderer)} to be rendered at the end of current tick. Calling this method
+     * multiple times within a tick results in a single render, of the last renderer provided. See {@link Panel#render(Consumer)}.
+     *
+     * @throws IllegalStateException if listeners have not been registered, as queued renders would never be flushed. See {@link Panel#registerDefaultListeners(Plugin)}.
+     */
+    public void renderLater(final @NotNull Consumer<Frame> renderer) throws IllegalStateException {
+        if (PanelListener.INSTANCE.registered == false)
+            throw new IllegalStateException("Panel listeners are not registered. Call Panel#registerDefaultListeners(Plugin) first.");
+        // Queuing the panel, unless it's queued already.
+        if (pendingRender == null)
+            PanelListener.INSTANCE.pendingRenders.add(this);
+        // ...
+        this.pendingRender = renderer;
+    }
+
+    // Returns true if provided shadow entry is known to be equal to provided item. Empty items are treated as missing.
+    private static boolean isSame(final @Nullable Object rendered, final @Nullable ItemStack item) {
+        if (item == null || item.isEmpty() == true)
+            return rendered == null;
+        // ...
+        return rendered != UNKNOWN && item.equals(rendered);
     }
 
     /**
@@ -200,35 +363,61 @@ public abstract class Panel implements InventoryHolder {
      */
     public static void registerDefaultListeners(final @NotNull Plugin plugin) {
         plugin.getServer().getPluginManager().registerEvents(PanelListener.INSTANCE, plugin);
+        // ...
+        PanelListener.INSTANCE.registered = true;
+    }
+
+    /**
+     * Returns {@link Panel} currently opened by provided {@link HumanEntity}, or {@code null} if it has no panel opened.
+     */
+    public static @Nullable Panel getOpenPanel(final @NotNull HumanEntity human) {
+        final @Nullable Panel panel = PanelListener.INSTANCE.viewers.get(human.getUniqueId());
+        // Entry may be stale in case opening has been cancelled by another plugin. Confirming with a cheap identity check.
+        return (panel != null && human.getOpenInventory().getTopInventory() == panel.inventory) ? panel : null;
     }
 
     private enum PanelListener implements Listener {
         /* SINGLETON */ INSTANCE;
 
-        private final HashMap<UUID, Long> cooldowns = new HashMap<>();
+        // Whether listener has been registered. Renders are queued only then, as nothing would flush the queue otherwise.
+        private volatile boolean registered;
+
+        // Panels with a render scheduled at the end of current tick.
+        private final List<Panel> pendingRenders = new ArrayList<>();
+
+        // Click cooldowns of viewers. Entries of viewers who left are purged, and expired entries are dropped automatically.
+        private final CooldownTable cooldowns = new CooldownTable();
+
+        // Panels currently opened by each viewer. Maintained on open and close, so clicks can be matched to panels without calling Inventory#getHolder,
+        // which may create a snapshot of the block state for container inventories.
+        private final HashMap<UUID, Panel> viewers = new HashMap<>();
 
         @EventHandler(ignoreCancelled = true)
         public void onPanelInventoryClick(final @NotNull InventoryClickEvent event) {
             // Ignoring clicks outside the inventory.
             if (event.getClickedInventory() == null)
                 return;
-            // Ignoring non-panel inventories.
-            if (event.getWhoClicked().getOpenInventory().getTopInventory().getHolder() instanceof final Panel panel) {
+            final @Nullable Panel panel = viewers.get(event.getWhoClicked().getUniqueId());
+            // Ignoring non-panel inventories. Entry may be stale in case opening has been cancelled by another plugin, hence the identity check.
+            if (panel != null && event.getView().getTopInventory() == panel.inventory) {
                 // Cancelling the event to prevent moving items between slots or inventories.
                 event.setCancelled(true);
                 // Ignoring clicks outside of the Panel inventory.
-                if (event.getClickedInventory().getHolder() != panel)
+                if (event.getClickedInventory() != panel.inventory)
                     return;
                 // ...
-                final ClickAction onClick = panel.actions.get(event.getSlot());
+                final @Nullable ClickAction onClick = panel.getAction(event.getSlot());
                 // Returning in case no action has been assigned to the clicked slot.
                 if (onClick == null)
                     return;
-                // Handling cooldown...
-                if (Interval.between(currentTimeMillis(), cooldowns.getOrDefault(event.getWhoClicked().getUniqueId(), 0L), Unit.MILLISECONDS).as(Unit.MILLISECONDS) < 200L)
+                // Handling cooldown. Slots with overridden cooldown are counted separately from the rest of the panel.
+                final @Nullable ClickCooldown slotCooldown = (panel.slotCooldowns != null) ? panel.slotCooldowns[event.getSlot()] : null;
+                // ...
+                if (slotCooldown != null) {
+                    if (cooldowns.tryAcquire(event.getWhoClicked().getUniqueId(), event.getSlot(), slotCooldown, currentTimeMillis()) == false)
+                        return;
+                } else if (cooldowns.tryAcquire(event.getWhoClicked().getUniqueId(), -1, panel.clickCooldown, currentTimeMillis()) == false)
                     return;
-                // ...setting cooldown
-                cooldowns.put(event.getWhoClicked().getUniqueId(), currentTimeMillis());
                 // Executing click actions. Wrapped with a try-catch block to make sure inventory is closed in case of an error.
                 try {
                     // Executing "shared" click action.
@@ -244,16 +433,97 @@ public abstract class Panel implements InventoryHolder {
 
         @EventHandler(ignoreCancelled = true)
         public void onPanelInventoryOpen(final @NotNull InventoryOpenEvent event) {
-            if (event.getInventory().getHolder() instanceof final Panel panel)
+            // Looking up the holder without creating a snapshot. This is the only place holder is looked up in.
+            if (event.getInventory().getHolder(false) instanceof final Panel panel) {
                 panel.onInventoryOpen.accept(event);
+                // Registering the viewer, unless opening has been cancelled.
+                if (event.isCancelled() == false)
+                    viewers.put(event.getPlayer().getUniqueId(), panel);
+            }
         }
 
         @EventHandler(ignoreCancelled = true)
         public void onPanelInventoryClose(final @NotNull InventoryCloseEvent event) {
-            if (event.getInventory().getHolder() instanceof final Panel panel)
+            // Unregistering the viewer. Entry is removed even if it's stale, as viewer does not see that panel anymore.
+            final @Nullable Panel panel = viewers.remove(event.getPlayer().getUniqueId());
+            // Ignoring non-panel inventories.
+            if (panel != null && event.getInventory() == panel.inventory)
                 panel.onInventoryClose.accept(event);
         }
 
+        @EventHandler
+        public void onTickEnd(final @NotNull ServerTickEndEvent event) {
+            // Nothing to render.
+            if (pendingRenders.isEmpty() == true)
+                return;
+            // Rendering each queued panel once. Renders scheduled by renderers are left for next tick.
+            final int count = pendingRenders.size();
+            // ...
+            for (int i = 0; i < count; i++) {
+                final Panel panel = pendingRenders.get(i);
+                final @Nullable Consumer<Frame> renderer = panel.pendingRender;
+                // Wrapped with a try-catch block to make sure one failure does not stop other panels from being rendered.
+                try {
+                    if (renderer != null)
+                        panel.render(renderer);
+                } catch (final Exception e) {
+                    e.printStackTrace();
+                }
+            }
+            pendingRenders.subList(0, count).clear();
+        }
+
+        @EventHandler
+        public void onPlayerQuit(final @NotNull PlayerQuitEvent event) {
+            viewers.remove(event.getPlayer().getUniqueId());
+            cooldowns.purge(event.getPlayer().getUniqueId());
+        }
+
+    }
+
+    /**
+     * {@link Frame} describes desired contents of a {@link Panel}, passed to {@link Panel#render(Consumer)}. Slots not set are empty.
+     */
+    public static final class Frame {
+
+        private final @Nullable ItemStack @NotNull [] items;
+        private final @Nullable ClickAction @NotNull [] actions;
+
+        private Frame(final int size) {
+            this.items = new ItemStack[size];
+            this.actions = new ClickAction[size];
+        }
+
+        /**
+         * Returns number of slots of the {@link Panel}.
+         */
+        public int getSize() {
+            return items.length;
+        }
+
+        /**
+         * Sets contents of specified slot to given {@link ItemStack}. Optionally {@link ClickAction ClickAction} can be specified.
+         */
+        public @NotNull Frame setItem(final int slot, final @Nullable ItemStack item, final @Nullable ClickAction onClick) {
+            items[slot] = item;
+            actions[slot] = onClick;
+            return this;
+        }
+
+        /**
+         * Sets contents of slots in range from {@code (from)} inclusive to {@code (to)} exclusive to given {@link ItemStack}. Optionally {@link ClickAction ClickAction} can be specified.
+         */
+        public @NotNull Frame setItems(final int from, final int to, final @Nullable ItemStack item, final @Nullable ClickAction onClick) {
+            Arrays.fill(items, from, to, item);
+            Arrays.fill(actions, from, to, onClick);
+            return this;
+        }
+
+        private void reset() {
+            Arrays.fill(items, null);
+            Arrays.fill(actions, null);
+        }
+
     }
 
-}
\ No newline at end of file
+}
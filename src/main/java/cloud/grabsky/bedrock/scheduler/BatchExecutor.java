@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link BatchExecutor} queues submitted tasks and executes them in one batch each time {@link BatchExecutor#drain(Logger)} is called.
+ * Tasks can be submitted from any thread and are executed in order of submission.
+ */
+@Internal
+public final class BatchExecutor implements Executor {
+
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+
+    // Number of tasks in the queue. Kept separately, as size of ConcurrentLinkedQueue is computed in linear time.
+    private final AtomicInteger size = new AtomicInteger();
+
+    @Override
+    public void execute(final @NotNull Runnable task) {
+        queue.add(task);
+        size.incrementAndGet();
+    }
+
+    /**
+     * Returns number of tasks waiting to be executed.
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    /**
+     * Executes all tasks submitted before this call. Tasks submitted by executed tasks are left for the next call, so this never loops indefinitely.
+     */
+    public void drain(final @NotNull Logger logger) {
+        // Number of tasks to execute in this batch.
+        int remaining = size.get();
+        // ...
+        while (remaining-- > 0) {
+            final @Nullable Runnable task = queue.poll();
+            // Should not happen, as size is incremented after adding to the queue.
+            if (task == null)
+                break;
+            size.decrementAndGet();
+            // Executing the task. Wrapped with a try-catch block to make sure one failure does not stop the whole batch.
+            try {
+                task.run();
+            } catch (final Throwable thr) {
+                logger.log(Level.WARNING, "An error occurred while executing a queued task.", thr);
+            }
+        }
+    }
+
+    /**
+     * Discards all tasks waiting to be executed.
+     */
+    public void clear() {
+        while (queue.poll() != null)
+            size.decrementAndGet();
+    }
+
+}
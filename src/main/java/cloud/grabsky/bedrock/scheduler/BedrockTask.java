@@ -0,0 +1,231 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * {@link BedrockTask} is a task scheduled by {@link cloud.grabsky.bedrock.BedrockScheduler BedrockScheduler}. Tasks are not registered to the Bukkit scheduler
+ * individually; instead they are kept in a {@link TimingWheel} driven by a single Bukkit task. Tasks bound to a region on Folia are the exception, as they
+ * must be executed by the {@link SchedulerBackend} on the thread owning that region.
+ * <p>
+ * Task ids are negative, so they never collide with ids of Bukkit tasks. Passing them to {@link org.bukkit.scheduler.BukkitScheduler BukkitScheduler} has no effect.
+ */
+public final class BedrockTask implements BukkitTask {
+
+    private static final AtomicInteger IDS = new AtomicInteger();
+
+    @Getter(AccessLevel.PUBLIC)
+    private final int taskId;
+
+    @Getter(AccessLevel.PUBLIC)
+    private final @NotNull Plugin owner;
+
+    @Getter(AccessLevel.PUBLIC)
+    private final boolean sync;
+
+    /**
+     * Returns number of ticks between executions of (this) {@link BedrockTask}, or {@code 0} if it's not repeating.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final long period;
+
+    /**
+     * Returns {@link Priority} of (this) {@link BedrockTask}. Periods of {@link Priority#DEFERRABLE} tasks are stretched while server is throttled.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final @NotNull Priority priority;
+
+    private final @NotNull Body body;
+
+    // Whether task has been cancelled or has finished.
+    private volatile boolean cancelled;
+
+    // Wheel this task has been scheduled to. Set once, when task is scheduled.
+    volatile @Nullable TimingWheel wheel;
+
+    // Tick of the wheel this task should be executed at.
+    long deadline;
+
+    // Bucket of the wheel this task is linked to, or -1. Along with previous and next task, accessed only by thread that advances the wheel.
+    int bucket = -1;
+    @Nullable BedrockTask prev;
+    @Nullable BedrockTask next;
+
+    // Handle of the task scheduled directly by the backend, or null if task is kept in a wheel.
+    volatile SchedulerBackend.@Nullable Handle handle;
+
+    // Group this task belongs to, or null.
+    volatile @Nullable TaskGroup group;
+
+    // Name this task is instrumented under, or null if it's not instrumented at all.
+    @Nullable String name;
+
+    // Metrics this task is recorded to, or null if it has not been executed while instrumentation was enabled yet. Resolved by name upon first such execution.
+    volatile @Nullable TaskMetrics metrics;
+
+    // Time, in nanoseconds, task has been handed to the executor at. Used to measure queue latency of asynchronous tasks.
+    long queuedAt;
+
+    // Number of executions skipped while throttled. Used for tasks scheduled by the backend directly, as their period cannot be changed.
+    int skipped;
+
+    // Phase assigned by the PhaseTable, or -1. Guarded by the table.
+    int phase = -1;
+    volatile @Nullable PhaseTable phases;
+
+    @Internal
+    public BedrockTask(final @NotNull Plugin owner, final boolean sync, final long period, final @NotNull Priority priority, final @NotNull Body body) {
+        this.taskId = -IDS.incrementAndGet();
+        this.owner = owner;
+        this.sync = sync;
+        this.period = period;
+        this.priority = priority;
+        this.body = body;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void cancel() {
+        // Nothing to cancel.
+        if (cancelled == true)
+            return;
+        // ...
+        this.cancelled = true;
+        // Releasing phase of the task.
+        final @Nullable PhaseTable phases = this.phases;
+        if (phases != null)
+            phases.release(this);
+        // Removing task from the wheel, so it does not take space until its deadline.
+        final @Nullable TimingWheel wheel = this.wheel;
+        if (wheel != null)
+            wheel.cancel(this);
+        // Cancelling task scheduled by the backend.
+        final SchedulerBackend.@Nullable Handle handle = this.handle;
+        if (handle != null)
+            handle.cancel();
+        // Leaving the group.
+        final @Nullable TaskGroup group = this.group;
+        if (group != null)
+            group.remove(this);
+    }
+
+    /**
+     * Returns tick of the wheel (this) {@link BedrockTask} is going to be executed at.
+     */
+    @Internal
+    public long getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Executes (this) {@link BedrockTask} and returns {@code true} if it should be executed again. Exceptions are logged and do not stop repeating tasks.
+     * Execution time is recorded in case provided {@link Instrumentation} is enabled; executions longer than its overrun threshold are counted as overruns.
+     */
+    @Internal
+    public boolean execute(final @NotNull Instrumentation instrumentation) {
+        // Executing right away in case instrumentation is disabled or task is not instrumented.
+        if (instrumentation.isEnabled() == false || name == null) {
+            queuedAt = 0L;
+            return this.execute();
+        }
+        // Resolving metrics upon first instrumented execution. Tasks scheduled before instrumentation has been enabled are recorded from now on.
+        @Nullable TaskMetrics metrics = this.metrics;
+        if (metrics == null)
+            this.metrics = metrics = instrumentation.metrics(name);
+        final long start = System.nanoTime();
+        // Recording time spent in the queue.
+        if (queuedAt != 0L) {
+            metrics.recordLatency(start - queuedAt);
+            queuedAt = 0L;
+        }
+        // Executing and recording execution time.
+        try {
+            return this.execute();
+        } finally {
+            metrics.record(System.nanoTime() - start, instrumentation.getOverrunThreshold());
+        }
+    }
+
+    private boolean execute() {
+        // Executing within scope of the group, so tasks scheduled by this task join it too.
+        final @Nullable TaskGroup group = this.group;
+        final @Nullable TaskGroup previous = (group != null) ? TaskGroup.enter(group) : null;
+        // ...
+        try {
+            return body.run(this) == true && period > 0 && cancelled == false;
+        } catch (final Throwable thr) {
+            owner.getLogger().log(Level.WARNING, "Task #" + taskId + " for " + owner.getName() + " generated an exception", thr);
+            return period > 0 && cancelled == false;
+        } finally {
+            if (group != null)
+                TaskGroup.exit(previous);
+        }
+    }
+
+    /**
+     * Marks (this) {@link BedrockTask} as done. Called after last execution; it's already removed from the wheel at this point.
+     */
+    @Internal
+    public void finish() {
+        this.cancelled = true;
+        // Releasing phase of the task.
+        final @Nullable PhaseTable phases = this.phases;
+        if (phases != null)
+            phases.release(this);
+        // Leaving the group.
+        final @Nullable TaskGroup group = this.group;
+        if (group != null)
+            group.remove(this);
+    }
+
+    /**
+     * Code executed by a {@link BedrockTask}.
+     */
+    @FunctionalInterface
+    public interface Body {
+
+        /**
+         * Executes the code. Returning {@code false} stops repeating tasks from being executed again. Ignored for non-repeating tasks.
+         */
+        boolean run(final @NotNull BedrockTask task);
+
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.scheduler;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link SchedulerBackend} which executes tasks using region schedulers of Folia. Global tasks are executed by the global region scheduler, tasks
+ * scheduled at a {@link Location} by the region scheduler and tasks of an {@link Entity} by its entity scheduler.
+ * <p>
+ * Asynchronous tasks are executed by the asynchronous scheduler, with one tick being 50 milliseconds.
+ */
+public final class FoliaSchedulerBackend implements SchedulerBackend {
+
+    // Whether server is running Folia. Checked once, as this never changes.
+    private static final boolean SUPPORTED = isClassPresent("io.papermc.paper.threadedregions.RegionizedServer");
+
+    private final @NotNull Plugin plugin;
+
+    public FoliaSchedulerBackend(final @NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Returns {@code true} if server is running Folia.
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    @Override
+    public boolean isRegionized() {
+        return true;
+    }
+
+    @Override
+    public boolean isGlobalThread() {
+        return plugin.getServer().isGlobalTickThread();
+    }
+
+    @Override
+    public @NotNull Handle runGlobalTimer(final @NotNull Runnable task, final long delay, final long period) {
+        return plugin.getServer().getGlobalRegionScheduler().runAtFixedRate(plugin, (self) -> task.run(), delay, period)::cancel;
+    }
+
+    @Override
+    public @NotNull Handle runAsyncTimer(final @NotNull Runnable task, final long delay, final long period) {
+        return plugin.getServer().getAsyncScheduler().runAtFixedRate(plugin, (self) -> task.run(), delay * 50L, period * 50L, TimeUnit.MILLISECONDS)::cancel;
+    }
+
+    @Override
+    public @NotNull Handle runAt(final @NotNull Location location, final @NotNull BooleanSupplier task, final long delay, final long period) {
+        final Consumer<ScheduledTask> consumer = wrap(task);
+        // ...
+        return (period > 0)
+                ? plugin.getServer().getRegionScheduler().runAtFixedRate(plugin, location, consumer, delay, period)::cancel
+                : plugin.getServer().getRegionScheduler().runDelayed(plugin, location, consumer, delay)::cancel;
+    }
+
+    @Override
+    public @Nullable Handle runOn(final @NotNull Entity entity, final @NotNull BooleanSupplier task, final @Nullable Runnable retired, final long delay, final long period) {
+        final Consumer<ScheduledTask> consumer = wrap(task);
+        // Entity scheduler returns null if entity has been removed already.
+        final @Nullable ScheduledTask scheduled = (period > 0)
+                ? entity.getScheduler().runAtFixedRate(plugin, consumer, retired, delay, period)
+                : entity.getScheduler().runDelayed(plugin, consumer, retired, delay);
+        // ...
+        return (scheduled != null) ? scheduled::cancel : null;
+    }
+
+    // Returns consumer which cancels the task once provided supplier returns false.
+    private static @NotNull Consumer<ScheduledTask> wrap(final @NotNull BooleanSupplier task) {
+        return (self) -> {
+            if (task.getAsBoolean() == false)
+                self.cancel();
+        };
+    }
+
+    private static boolean isClassPresent(final @NotNull String name) {
+        try {
+            Class.forName(name);
+            return true;
+        } catch (final ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+}
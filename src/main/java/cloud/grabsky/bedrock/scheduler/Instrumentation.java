@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.scheduler;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * {@link Instrumentation} records execution statistics of tasks scheduled by {@link cloud.grabsky.bedrock.BedrockScheduler BedrockScheduler}, grouped by name.
+ * <p>
+ * Instrumentation is disabled by default. It applies to executions taking place while it's enabled, including these of named repeating tasks scheduled before that.
+ * Unnamed tasks are recorded under name of the calling class, which is looked up only while instrumentation is enabled. Unnamed tasks scheduled while it's disabled
+ * are therefore not recorded; schedule them through {@link cloud.grabsky.bedrock.BedrockScheduler#named(String) BedrockScheduler#named(String)} to record them regardless.
+ * When disabled, the only overhead is a single check upon execution of each task.
+ */
+public final class Instrumentation {
+
+    private final Map<String, TaskMetrics> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * Returns {@code true} if instrumentation is enabled.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private volatile boolean enabled = false;
+
+    /**
+     * Returns execution time, in nanoseconds, above which execution is counted as an overrun. Defaults to 5 milliseconds.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private volatile long overrunThreshold = TimeUnit.MILLISECONDS.toNanos(5);
+
+    /**
+     * Enables or disables instrumentation. Takes effect upon next execution of each task.
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Sets execution time, in nanoseconds, above which execution is counted as an overrun.
+     */
+    public void setOverrunThreshold(final long overrunThreshold) {
+        this.overrunThreshold = overrunThreshold;
+    }
+
+    /**
+     * Returns {@link TaskMetrics} of tasks with provided name, or {@code null} if none has been recorded.
+     */
+    public @Nullable TaskMetrics getMetrics(final @NotNull String name) {
+        return metrics.get(name);
+    }
+
+    /**
+     * Returns {@link TaskMetrics} of all tasks recorded so far.
+     */
+    public @NotNull Collection<TaskMetrics> getMetrics() {
+        return metrics.values();
+    }
+
+    /**
+     * Returns up to {@code (count)} {@link TaskMetrics}, ordered by total execution time, the highest first.
+     */
+    public @NotNull List<TaskMetrics> getSlowest(final int count) {
+        return metrics.values().stream().sorted(Comparator.comparingLong(TaskMetrics::getTotalTime).reversed()).limit(count).toList();
+    }
+
+    /**
+     * Resets all recorded statistics.
+     */
+    public void reset() {
+        metrics.values().forEach(TaskMetrics::reset);
+    }
+
+    /**
+     * Returns human-readable report of up to {@code (count)} tasks with the highest total execution time.
+     */
+    public @NotNull String report(final int count) {
+        final StringBuilder builder = new StringBuilder("Slowest tasks:");
+        // Appending one line per task. Times are in milliseconds.
+        for (final TaskMetrics entry : this.getSlowest(count))
+            builder.append("\n - ").append(entry.getName()).append(": ").append(entry.getCount()).append(" executions")
+                    .append(", total ").append(millis(entry.getTotalTime()))
+                    .append(", avg ").append(millis(entry.getAverageTime()))
+                    .append(", p99 ").append(millis(entry.getPercentile(0.99D)))
+                    .append(", max ").append(millis(entry.getMaxTime()))
+                    .append(", overruns ").append(entry.getOverruns())
+                    .append(", avg queue ").append(millis(entry.getAverageLatency()));
+        // ...
+        return builder.toString();
+    }
+
+    @NotNull TaskMetrics metrics(final @NotNull String name) {
+        return metrics.computeIfAbsent(name, TaskMetrics::new);
+    }
+
+    private static @NotNull String millis(final long nanos) {
+        return "%.2fms".formatted(nanos / 1_000_000.0D);
+    }
+
+}
@@ -0,0 +1,202 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.scheduler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link KeyedTasks} collapses bursts of keyed calls into a single execution, either by debouncing or throttling them.
+ * <p>
+ * Each key has an entry only while a burst is in progress. Entry is created on first call and removed once its task is executed with no
+ * further calls pending, so idle keys take no space. Calls within a burst only update the entry; at most one {@link BedrockTask} is scheduled per burst
+ * for throttling, and per delay window for debouncing.
+ * <p>
+ * Entry whose task has been cancelled externally, for example by cancelling its {@link TaskGroup}, is stale. Stale entries are replaced by the next call with
+ * the same key, so such call starts a new burst instead of updating one that will never complete.
+ * <p>
+ * Task of a key is shared by all calls within a burst, so it does not join group of the current scope of whichever call started the burst.
+ * It joins group provided through {@link TaskOptions} only.
+ */
+@Internal
+public final class KeyedTasks {
+
+    private final @NotNull SchedulerCore core;
+
+    // Entries keyed by user-provided keys. Synchronous and asynchronous entries are kept separately.
+    private final Map<Object, Debounce> syncDebounces = new ConcurrentHashMap<>();
+    private final Map<Object, Debounce> asyncDebounces = new ConcurrentHashMap<>();
+    private final Map<Object, Throttle> syncThrottles = new ConcurrentHashMap<>();
+    private final Map<Object, Throttle> asyncThrottles = new ConcurrentHashMap<>();
+
+    KeyedTasks(final @NotNull SchedulerCore core) {
+        this.core = core;
+    }
+
+    /**
+     * Executes provided task once {@code (delay)} ticks pass since the last call with the same key. Only the task provided by the last call is executed.
+     */
+    public void debounce(final boolean sync, final @NotNull Object key, final long delay, final @NotNull Runnable task, final @NotNull TaskOptions options) {
+        final TimingWheel wheel = (sync == true) ? core.getSyncWheel() : core.getAsyncWheel();
+        // Updating the entry. Task is scheduled only if entry is new; otherwise it's already waiting and will notice the new deadline.
+        ((sync == true) ? syncDebounces : asyncDebounces).compute(key, (ignored, entry) -> {
+            final Debounce result = (entry != null && entry.isStale() == false) ? entry : new Debounce();
+            // ...
+            result.task = task;
+            result.deadline = wheel.getTick() + Math.max(delay, 1L);
+            // ...
+            if (result != entry)
+                this.scheduleDebounce(sync, key, result, delay, options);
+            return result;
+        });
+    }
+
+    /**
+     * Executes provided task on next tick and then at most once per {@code (period)} ticks, for as long as calls with the same key keep coming.
+     * Calls made in-between executions are collapsed into one, and only the task provided by the last of them is executed.
+     */
+    public void throttle(final boolean sync, final @NotNull Object key, final long period, final @NotNull Runnable task, final @NotNull TaskOptions options) {
+        final Map<Object, Throttle> throttles = (sync == true) ? syncThrottles : asyncThrottles;
+        // Updating the entry. Task is scheduled only if entry is new; otherwise it's already running and will pick up the pending task.
+        throttles.compute(key, (ignored, entry) -> {
+            if (entry == null || entry.isStale() == true) {
+                entry = new Throttle();
+                // Scheduling a repeating task which executes pending task each period, until there is nothing pending.
+                final Throttle created = entry;
+                entry.driver = core.schedule(sync, 1L, Math.max(period, 1L), (self) -> this.fireThrottle(throttles, key, created), options.detach());
+            }
+            entry.pending = task;
+            return entry;
+        });
+    }
+
+    /**
+     * Returns number of keys with a burst in progress. Stale entries are discarded first.
+     */
+    public int getSize() {
+        syncDebounces.values().removeIf(Debounce::isStale);
+        asyncDebounces.values().removeIf(Debounce::isStale);
+        syncThrottles.values().removeIf(Throttle::isStale);
+        asyncThrottles.values().removeIf(Throttle::isStale);
+        // ...
+        return syncDebounces.size() + asyncDebounces.size() + syncThrottles.size() + asyncThrottles.size();
+    }
+
+    /**
+     * Discards all bursts in progress. Called when scheduler is shut down, as their tasks are cancelled.
+     */
+    public void clear() {
+        syncDebounces.clear();
+        asyncDebounces.clear();
+        syncThrottles.clear();
+        asyncThrottles.clear();
+    }
+
+    private void scheduleDebounce(final boolean sync, final @NotNull Object key, final @NotNull Debounce entry, final long delay, final @NotNull TaskOptions options) {
+        entry.driver = core.schedule(sync, delay, -1L, (self) -> {
+            this.fireDebounce(sync, key, entry, options);
+            return false;
+        }, options.detach());
+    }
+
+    private void fireDebounce(final boolean sync, final @NotNull Object key, final @NotNull Debounce entry, final @NotNull TaskOptions options) {
+        final TimingWheel wheel = (sync == true) ? core.getSyncWheel() : core.getAsyncWheel();
+        // Task to execute, if the deadline has been reached.
+        final Runnable[] task = new Runnable[1];
+        // Removing the entry if its deadline has been reached, or scheduling another check otherwise.
+        ((sync == true) ? syncDebounces : asyncDebounces).computeIfPresent(key, (ignored, current) -> {
+            // Entry has been replaced in the meantime.
+            if (current != entry)
+                return current;
+            final long remaining = entry.deadline - wheel.getTick();
+            // Deadline has been moved by subsequent calls; waiting for the remaining time.
+            if (remaining > 0) {
+                this.scheduleDebounce(sync, key, entry, remaining, options);
+                return entry;
+            }
+            task[0] = entry.task;
+            return null;
+        });
+        // Executing outside of the map, so task can safely debounce the same key again.
+        if (task[0] != null)
+            task[0].run();
+    }
+
+    private boolean fireThrottle(final @NotNull Map<Object, Throttle> throttles, final @NotNull Object key, final @NotNull Throttle entry) {
+        // Task to execute, if any is pending.
+        final Runnable[] task = new Runnable[1];
+        // Taking the pending task, or removing the entry if there is none.
+        throttles.computeIfPresent(key, (ignored, current) -> {
+            // Entry has been replaced in the meantime.
+            if (current != entry)
+                return current;
+            // Nothing has been called since last execution; burst is over.
+            if (entry.pending == null)
+                return null;
+            // ...
+            task[0] = entry.pending;
+            entry.pending = null;
+            return entry;
+        });
+        // Stopping the repeating task once burst is over.
+        if (task[0] == null)
+            return false;
+        // Executing outside of the map, so task can safely throttle the same key again. Exceptions are logged by the repeating task, which keeps running
+        // and removes the entry once burst is over, the same way it does after successful execution.
+        task[0].run();
+        return true;
+    }
+
+    // Guarded by the map entry. Fields are volatile, as entry is read by the thread executing it.
+    private static final class Debounce {
+        volatile @Nullable Runnable task;
+        volatile long deadline;
+        // Task waiting for the deadline. Replaced before previous one finishes, so it's cancelled only if cancelled externally.
+        volatile @Nullable BedrockTask driver;
+
+        boolean isStale() {
+            final @Nullable BedrockTask driver = this.driver;
+            // ...
+            return driver != null && driver.isCancelled() == true;
+        }
+    }
+
+    // Guarded by the map entry.
+    private static final class Throttle {
+        volatile @Nullable Runnable pending;
+        // Repeating task executing pending tasks. Finishes only after removing the entry, so it's cancelled only if cancelled externally.
+        volatile @Nullable BedrockTask driver;
+
+        boolean isStale() {
+            final @Nullable BedrockTask driver = this.driver;
+            // ...
+            return driver != null && driver.isCancelled() == true;
+        }
+    }
+
+}
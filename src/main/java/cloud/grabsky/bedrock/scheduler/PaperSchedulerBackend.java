@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.function.BooleanSupplier;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link SchedulerBackend} which executes tasks using {@link org.bukkit.scheduler.BukkitScheduler BukkitScheduler}. There is only one main thread, so location and entity of a task do not matter.
+ */
+public final class PaperSchedulerBackend implements SchedulerBackend {
+
+    private final @NotNull Plugin plugin;
+
+    public PaperSchedulerBackend(final @NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean isRegionized() {
+        return false;
+    }
+
+    @Override
+    public boolean isGlobalThread() {
+        return plugin.getServer().isPrimaryThread();
+    }
+
+    @Override
+    public @NotNull Handle runGlobalTimer(final @NotNull Runnable task, final long delay, final long period) {
+        return plugin.getServer().getScheduler().runTaskTimer(plugin, task, delay, period)::cancel;
+    }
+
+    @Override
+    public @NotNull Handle runAsyncTimer(final @NotNull Runnable task, final long delay, final long period) {
+        return plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, task, delay, period)::cancel;
+    }
+
+    @Override
+    public @NotNull Handle runAt(final @NotNull Location location, final @NotNull BooleanSupplier task, final long delay, final long period) {
+        return this.run(task, delay, period);
+    }
+
+    @Override
+    public @Nullable Handle runOn(final @NotNull Entity entity, final @NotNull BooleanSupplier task, final @Nullable Runnable retired, final long delay, final long period) {
+        // Entity has been removed already.
+        if (isRetired(entity) == true)
+            return null;
+        // Checking the entity before each execution, the same way entity scheduler of Folia does.
+        return this.run(() -> isAlive(entity, retired) == true && task.getAsBoolean() == true, delay, period);
+    }
+
+    private @NotNull Handle run(final @NotNull BooleanSupplier task, final long delay, final long period) {
+        final BukkitRunnable runnable = new BukkitRunnable() {
+
+            @Override
+            public void run() {
+                if (task.getAsBoolean() == false)
+                    this.cancel();
+            }
+
+        };
+        // ...
+        return (period > 0) ? runnable.runTaskTimer(plugin, delay, period)::cancel : runnable.runTaskLater(plugin, delay)::cancel;
+    }
+
+    /**
+     * Returns {@code true} if provided {@link Entity} has been removed from the server. Players are removed once they leave; dead players are not.
+     */
+    static boolean isRetired(final @NotNull Entity entity) {
+        return (entity instanceof Player player) ? player.isOnline() == false : entity.isValid() == false;
+    }
+
+    /**
+     * Returns {@code true} if provided {@link Entity} still exists. Otherwise, executes {@code (retired)} and returns {@code false}. Called before each execution
+     * of a task bound to an entity, on servers that are not regionized.
+     */
+    static boolean isAlive(final @NotNull Entity entity, final @Nullable Runnable retired) {
+        if (isRetired(entity) == false)
+            return true;
+        // ...
+        if (retired != null)
+            retired.run();
+        return false;
+    }
+
+}
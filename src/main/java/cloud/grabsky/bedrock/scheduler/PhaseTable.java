@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.scheduler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link PhaseTable} assigns phases to repeating tasks, so tasks with equal periods are spread evenly across ticks instead of all firing at the same tick.
+ * <p>
+ * Phase of a task is its deadline modulo its period. Table keeps number of tasks in each phase, per period, and assigns each new task the least loaded phase
+ * reachable within one period from its requested deadline. Only first execution is delayed; period of the task stays the same.
+ */
+@Internal
+public final class PhaseTable {
+
+    /**
+     * Max period of tasks that are spread. Tasks with longer periods are rare enough to not cause spikes on their own.
+     */
+    public static final long MAX_PERIOD = 1200L;
+
+    // Number of tasks in each phase, keyed by period.
+    private final Map<Long, int[]> counts = new HashMap<>();
+
+    /**
+     * Returns deadline of first execution of provided {@link BedrockTask}, which is no sooner than {@code (deadline)} and no later than one period after it.
+     * Deadline is returned as-is for tasks that are not repeating or have period outside of supported range.
+     */
+    public synchronized long assign(final @NotNull BedrockTask task, final long deadline) {
+        final long period = task.getPeriod();
+        // Spreading tasks with period of 1 makes no difference.
+        if (period <= 1L || period > MAX_PERIOD || deadline > Long.MAX_VALUE - MAX_PERIOD)
+            return deadline;
+        final int[] load = counts.computeIfAbsent(period, (ignored) -> new int[(int) period]);
+        // Finding the least loaded phase. Earlier phases win ties, so the delay is as short as possible.
+        int offset = 0;
+        int lowest = Integer.MAX_VALUE;
+        for (int i = 0; i < period && lowest > 0; i++) {
+            final int phase = (int) ((deadline + i) % period);
+            // ...
+            if (load[phase] < lowest) {
+                lowest = load[phase];
+                offset = i;
+            }
+        }
+        final int phase = (int) ((deadline + offset) % period);
+        // Registering the task in selected phase. It's released once task is cancelled or finished.
+        load[phase]++;
+        task.phase = phase;
+        task.phases = this;
+        // ...
+        return deadline + offset;
+    }
+
+    /**
+     * Removes provided {@link BedrockTask} from its phase. Does nothing if task has already been removed.
+     */
+    synchronized void release(final @NotNull BedrockTask task) {
+        if (task.phase < 0)
+            return;
+        // ...
+        final int @Nullable [] load = counts.get(task.getPeriod());
+        if (load != null)
+            load[task.phase]--;
+        // ...
+        task.phase = -1;
+    }
+
+    /**
+     * Returns number of tasks in each phase of provided period. Index of the array is the phase, which is tick modulo period.
+     */
+    public synchronized int @NotNull [] getLoad(final long period) {
+        final int @Nullable [] load = counts.get(period);
+        // ...
+        return (load != null) ? load.clone() : new int[0];
+    }
+
+    /**
+     * Returns number of spread tasks due at provided tick.
+     */
+    public synchronized int getTickLoad(final long tick) {
+        int total = 0;
+        // Summing up load of each period at phase matching the tick.
+        for (final Map.Entry<Long, int[]> entry : counts.entrySet())
+            total += entry.getValue()[(int) (tick % entry.getKey())];
+        // ...
+        return total;
+    }
+
+}
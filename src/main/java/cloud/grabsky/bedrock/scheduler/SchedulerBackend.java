@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.util.function.BooleanSupplier;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link SchedulerBackend} is the server scheduler {@link cloud.grabsky.bedrock.BedrockScheduler BedrockScheduler} drives its tasks with.
+ * <p>
+ * Delays and periods are measured in ticks and must be at least {@code 1}. Period of {@code 0} or lower means task is executed once.
+ * Tasks provided as {@link BooleanSupplier} are stopped once they return {@code false}.
+ */
+public interface SchedulerBackend {
+
+    /**
+     * Returns {@link SchedulerBackend} suitable for the server provided {@link Plugin} is running on; {@link FoliaSchedulerBackend} on Folia
+     * and {@link PaperSchedulerBackend} otherwise.
+     */
+    static @NotNull SchedulerBackend of(final @NotNull Plugin plugin) {
+        return (FoliaSchedulerBackend.isSupported() == true) ? new FoliaSchedulerBackend(plugin) : new PaperSchedulerBackend(plugin);
+    }
+
+    /**
+     * Returns {@code true} if the server ticks regions on separate threads, meaning there is no single main thread.
+     */
+    boolean isRegionized();
+
+    /**
+     * Returns {@code true} if called from the thread global tasks are executed on. This is the main thread on servers that are not regionized.
+     */
+    boolean isGlobalThread();
+
+    /**
+     * Executes provided task repeatedly on the thread global tasks are executed on.
+     */
+    @NotNull Handle runGlobalTimer(final @NotNull Runnable task, final long delay, final long period);
+
+    /**
+     * Executes provided task asynchronously and repeatedly.
+     */
+    @NotNull Handle runAsyncTimer(final @NotNull Runnable task, final long delay, final long period);
+
+    /**
+     * Executes provided task on the thread which owns region of provided {@link Location}.
+     */
+    @NotNull Handle runAt(final @NotNull Location location, final @NotNull BooleanSupplier task, final long delay, final long period);
+
+    /**
+     * Executes provided task on the thread which owns provided {@link Entity}, for as long as the entity exists. Task is stopped and {@code (retired)} is executed
+     * once the entity is removed. Returns {@code null} if entity has been removed already.
+     */
+    @Nullable Handle runOn(final @NotNull Entity entity, final @NotNull BooleanSupplier task, final @Nullable Runnable retired, final long delay, final long period);
+
+    /**
+     * Handle of a task scheduled by {@link SchedulerBackend}.
+     */
+    @FunctionalInterface
+    interface Handle {
+
+        /**
+         * Cancels the task. Has no effect if task has been cancelled or has finished already.
+         */
+        void cancel();
+
+    }
+
+}
@@ -0,0 +1,532 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.scheduler;
+
+import cloud.grabsky.bedrock.BedrockScheduler;
+import cloud.grabsky.bedrock.BedrockScheduler.AsyncBackend;
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * {@link SchedulerCore} holds state of a {@link BedrockScheduler} and drives execution of its tasks. It's shared between the scheduler and all its views.
+ * <p>
+ * Tasks are kept in two {@link TimingWheel TimingWheels}, one for synchronous and one for asynchronous tasks, each driven by a single task of the {@link SchedulerBackend}
+ * or a timer. On Folia, synchronous wheel is driven by the global region scheduler, and tasks bound to a location or an entity are handed to the backend directly.
+ */
+@Internal
+public final class SchedulerCore {
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    @Getter(AccessLevel.PUBLIC)
+    private final @NotNull Plugin plugin;
+
+    @Getter(AccessLevel.PUBLIC)
+    private final @NotNull AsyncBackend asyncBackend;
+
+    @Getter(AccessLevel.PUBLIC)
+    private final @NotNull SchedulerBackend backend;
+
+    @Getter(AccessLevel.PUBLIC)
+    private final TimingWheel syncWheel = new TimingWheel();
+
+    @Getter(AccessLevel.PUBLIC)
+    private final TimingWheel asyncWheel = new TimingWheel();
+
+    // Number of ticks asynchronous wheel should be advanced to. Incremented by the driver each tick.
+    private final AtomicLong asyncPulses = new AtomicLong();
+
+    // Held by thread advancing the asynchronous wheel. Bukkit may run consecutive executions of the driver on different threads, possibly overlapping.
+    private final ReentrantLock asyncLock = new ReentrantLock();
+
+    // Whether the drivers are running. Drivers are started on first use.
+    private volatile boolean running;
+
+    // Tasks of the backend advancing the wheels. Asynchronous driver is used by AsyncBackend.BUKKIT only.
+    private SchedulerBackend.@Nullable Handle syncDriver;
+    private SchedulerBackend.@Nullable Handle asyncDriver;
+
+    // Incremented on each shutdown. Tasks scheduled by the backend directly are not tracked, so they stop on their next execution once this changes.
+    private final AtomicInteger generation = new AtomicInteger();
+
+    // Timer advancing the asynchronous wheel. Used by AsyncBackend.VIRTUAL_THREADS only.
+    private @Nullable ScheduledExecutorService asyncTimer;
+
+    // Executor of asynchronous tasks. Replaced each time drivers are started.
+    private volatile @NotNull Executor asyncExecutor = Runnable::run;
+
+    /**
+     * Returns view of the executor of asynchronous tasks, which stays valid when drivers are restarted.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final @NotNull Executor asyncExecutorView = (runnable) -> asyncExecutor.execute(runnable);
+
+    /**
+     * Returns executor of main thread continuations. Drained by the synchronous driver, once per tick.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final BatchExecutor mainThreadExecutor = new BatchExecutor();
+
+    /**
+     * Returns phases of synchronous repeating tasks. Used when load spreading is enabled.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final PhaseTable phaseTable = new PhaseTable();
+
+    @Getter(AccessLevel.PUBLIC)
+    private volatile boolean loadSpreading = false;
+
+    /**
+     * Returns jobs processed on the main thread within a time budget. Drained by the synchronous driver, once per tick.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final WorkQueue workQueue = new WorkQueue();
+
+    @Getter(AccessLevel.PUBLIC)
+    private volatile long workBudget = TimeUnit.MILLISECONDS.toNanos(2);
+
+    @Getter(AccessLevel.PUBLIC)
+    private volatile boolean adaptiveWorkBudget = true;
+
+    @Getter(AccessLevel.PUBLIC)
+    private final Instrumentation instrumentation = new Instrumentation();
+
+    /**
+     * Returns monitor of tick time, which throttles work of lower priority. Sampled once per tick, by the tick listener or by the synchronous driver on regionized servers.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final TickMonitor tickMonitor = new TickMonitor();
+
+    /**
+     * Returns debounced and throttled tasks, keyed by user-provided keys.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final KeyedTasks keyedTasks = new KeyedTasks(this);
+
+    // Samples duration of each tick. Registered while drivers are running, on servers that are not regionized.
+    private final TickListener tickListener = new TickListener(tickMonitor);
+
+    // Groups of tasks, by name. Cancelled groups are replaced upon next access.
+    private final Map<String, TaskGroup> groups = new ConcurrentHashMap<>();
+
+    // Task which periodically logs slowest tasks, or null.
+    private @Nullable BedrockTask reportTask;
+
+    public SchedulerCore(final @NotNull Plugin plugin, final @NotNull AsyncBackend asyncBackend, final @NotNull SchedulerBackend backend) {
+        this.plugin = plugin;
+        this.asyncBackend = asyncBackend;
+        this.backend = backend;
+    }
+
+    public void setLoadSpreading(final boolean loadSpreading) {
+        this.loadSpreading = loadSpreading;
+    }
+
+    public void setWorkBudget(final long workBudget) {
+        if (workBudget < 0)
+            throw new IllegalArgumentException("Budget cannot be negative.");
+        // ...
+        this.workBudget = workBudget;
+    }
+
+    public void setAdaptiveWorkBudget(final boolean adaptiveWorkBudget) {
+        this.adaptiveWorkBudget = adaptiveWorkBudget;
+    }
+
+    /**
+     * Returns number of tasks waiting to be executed, both synchronous and asynchronous. Tasks bound to a location or an entity on Folia are not counted.
+     */
+    public int getPendingCount() {
+        return syncWheel.getSize() + asyncWheel.getSize() + mainThreadExecutor.getSize();
+    }
+
+    /**
+     * Schedules new {@link BedrockTask} with provided properties and returns it.
+     *
+     * @param sync whether task should be executed on the main thread
+     * @param delay ticks to wait before first execution
+     * @param period ticks to wait in-between executions; negative for non-repeating tasks
+     * @param body code of the task
+     * @param options properties of the task, like its name and priority
+     */
+    public @NotNull BedrockTask schedule(final boolean sync, final long delay, final long period, final @NotNull BedrockTask.Body body, final @NotNull TaskOptions options) {
+        final BedrockTask task = this.create(sync, period, body, options);
+        // Task has been cancelled right away, as its group is cancelled.
+        if (task.isCancelled() == true)
+            return task;
+        final TimingWheel wheel = (sync == true) ? syncWheel : asyncWheel;
+        // Starting the driver in case it's not running yet.
+        this.start();
+        // Delays lower than 1 are executed on next tick, the same way Bukkit does.
+        long deadline = saturatedSum(wheel.getTick(), Math.max(delay, 1L));
+        // Spreading synchronous repeating tasks across ticks, if enabled.
+        if (sync == true && loadSpreading == true && task.getPeriod() > 0)
+            deadline = phaseTable.assign(task, deadline);
+        // Scheduling the task.
+        wheel.schedule(task, deadline);
+        // ...
+        return task;
+    }
+
+    /**
+     * Schedules new synchronous {@link BedrockTask} which is executed by thread owning region of provided {@link Location}, and returns it.
+     * Location does not matter on servers that are not regionized, where task is scheduled the same way as other synchronous tasks.
+     *
+     * @see SchedulerCore#schedule(boolean, long, long, BedrockTask.Body, TaskOptions)
+     */
+    public @NotNull BedrockTask schedule(final @NotNull Location location, final long delay, final long period, final @NotNull BedrockTask.Body body, final @NotNull TaskOptions options) {
+        // Scheduling to the synchronous wheel when there is only one main thread.
+        if (backend.isRegionized() == false)
+            return this.schedule(true, delay, period, body, options);
+        // Handing the task to the backend otherwise, unless it has been cancelled right away.
+        final BedrockTask task = this.create(true, period, body, options);
+        final int generation = this.generation.get();
+        // ...
+        if (task.isCancelled() == true)
+            return task;
+        task.handle = backend.runAt(location, () -> this.executeRegion(task, generation), Math.max(delay, 1L), task.getPeriod());
+        return task;
+    }
+
+    /**
+     * Schedules new synchronous {@link BedrockTask} which is executed by thread owning provided {@link Entity}, for as long as the entity exists.
+     * Task is stopped and {@code (retired)} is executed once the entity is removed. Returns {@code null} if entity has been removed already.
+     *
+     * @see SchedulerCore#schedule(boolean, long, long, BedrockTask.Body, TaskOptions)
+     */
+    public @Nullable BedrockTask schedule(final @NotNull Entity entity, final long delay, final long period, final @NotNull BedrockTask.Body body, final @Nullable Runnable retired, final @NotNull TaskOptions options) {
+        // Entity has been removed already.
+        if (PaperSchedulerBackend.isRetired(entity) == true)
+            return null;
+        // Scheduling to the synchronous wheel when there is only one main thread. Entity is checked before each execution, the same way entity scheduler of Folia does.
+        if (backend.isRegionized() == false)
+            return this.schedule(true, delay, period, (self) -> PaperSchedulerBackend.isAlive(entity, retired) == true && body.run(self) == true, options);
+        // Handing the task to the backend otherwise, unless it has been cancelled right away.
+        final BedrockTask task = this.create(true, period, body, options);
+        final int generation = this.generation.get();
+        // ...
+        if (task.isCancelled() == true)
+            return task;
+        task.handle = backend.runOn(entity, () -> this.executeRegion(task, generation), retired, Math.max(delay, 1L), task.getPeriod());
+        // Entity has been removed in the meantime.
+        if (task.handle == null) {
+            task.finish();
+            return null;
+        }
+        return task;
+    }
+
+    private @NotNull BedrockTask create(final boolean sync, final long period, final @NotNull BedrockTask.Body body, final @NotNull TaskOptions options) {
+        // Period of 0 is treated as 1, the same way Bukkit does. Negative period means task is not repeating.
+        final BedrockTask task = new BedrockTask(plugin, sync, (period < 0) ? 0L : Math.max(period, 1L), options.priority(), body);
+        // Naming the task, so its metrics can be resolved upon execution once instrumentation is enabled. Calling class is looked up only while instrumentation
+        // is enabled, as walking the stack is not free. Unnamed tasks scheduled while it's disabled are not recorded.
+        if (options.name() != null)
+            task.name = options.name();
+        else if (instrumentation.isEnabled() == true)
+            task.name = callerName();
+        // Adding task to its group, or to group of the current scope unless detached. Task is cancelled right away if group is cancelled.
+        final @Nullable TaskGroup group = (options.group() != null) ? options.group() : (options.detached() == false) ? TaskGroup.current() : null;
+        if (group != null)
+            group.add(task);
+        // ...
+        return task;
+    }
+
+    /**
+     * Returns {@link TaskGroup} with provided name, creating it in case it does not exist or has been cancelled.
+     */
+    public @NotNull TaskGroup getGroup(final @NotNull String name) {
+        return groups.compute(name, (ignored, existing) -> (existing == null || existing.isCancelled() == true) ? new TaskGroup(name) : existing);
+    }
+
+    /**
+     * Cancels {@link TaskGroup} with provided name and all its tasks. Returns {@code false} if there was no such group.
+     */
+    public boolean cancelGroup(final @NotNull String name) {
+        final @Nullable TaskGroup group = groups.remove(name);
+        // ...
+        if (group == null)
+            return false;
+        group.cancel();
+        return true;
+    }
+
+    /**
+     * Returns unmodifiable view of all {@link TaskGroup TaskGroups}.
+     */
+    public @NotNull Collection<TaskGroup> getGroups() {
+        return Collections.unmodifiableCollection(groups.values());
+    }
+
+    /**
+     * Starts or stops periodic report of slowest tasks, logged to the console.
+     *
+     * @param period ticks between reports; {@code 0} or lower stops the report
+     * @param count number of tasks included in each report
+     */
+    public synchronized void setReport(final long period, final int count) {
+        if (reportTask != null)
+            reportTask.cancel();
+        // ...
+        reportTask = (period > 0) ? this.schedule(false, period, period, (self) -> {
+            // Skipping the report while instrumentation is disabled.
+            if (instrumentation.isEnabled() == true)
+                plugin.getLogger().info(instrumentation.report(count));
+            return true;
+        }, TaskOptions.DEFAULT.withName("bedrock:report").detach()) : null;
+    }
+
+    /**
+     * Starts the drivers, unless already running.
+     */
+    public void start() {
+        // Already running; checked outside the lock as this is the common case.
+        if (running == true)
+            return;
+        synchronized (this) {
+            if (running == true)
+                return;
+            // Starting the synchronous driver.
+            syncDriver = backend.runGlobalTimer(this::advanceSync, 1L, 1L);
+            // Sampling each tick. Tick events are not fired by regionized servers; tick time is sampled by the synchronous driver there.
+            if (backend.isRegionized() == false)
+                plugin.getServer().getPluginManager().registerEvents(tickListener, plugin);
+            // Starting the asynchronous driver.
+            switch (asyncBackend) {
+                case BUKKIT -> {
+                    // Due tasks are handed to a pool owned by the scheduler, so the timer below is the only task registered to the server.
+                    asyncExecutor = Executors.newCachedThreadPool(Thread.ofPlatform().daemon().name(plugin.getName() + "-async-", 0).factory());
+                    asyncDriver = backend.runAsyncTimer(this::advanceAsync, 1L, 1L);
+                }
+                case VIRTUAL_THREADS -> {
+                    asyncExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(plugin.getName() + "-async-", 0).factory());
+                    // Wheel is advanced every 50 milliseconds, which is the length of a tick. Timer does nothing else, so a single platform thread is enough.
+                    asyncTimer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name(plugin.getName() + "-async-timer").factory());
+                    asyncTimer.scheduleAtFixedRate(this::advanceAsync, 50L, 50L, TimeUnit.MILLISECONDS);
+                }
+            }
+            running = true;
+        }
+    }
+
+    /**
+     * Cancels all tasks and stops the drivers. Running asynchronous tasks of {@link AsyncBackend#VIRTUAL_THREADS} are interrupted.
+     * Main thread continuations waiting to be executed are executed right away, on the calling thread.
+     */
+    public synchronized void shutdown() {
+        // Executing main thread continuations, including ones submitted by them, so their futures are completed and nothing waiting on them hangs.
+        // This is done first, so tasks scheduled by them are cancelled below.
+        while (mainThreadExecutor.getSize() > 0)
+            mainThreadExecutor.drain(plugin.getLogger());
+        running = false;
+        // Stopping tasks scheduled by the backend directly, on their next execution.
+        generation.incrementAndGet();
+        // Stopping the drivers.
+        if (syncDriver != null)
+            syncDriver.cancel();
+        if (asyncDriver != null)
+            asyncDriver.cancel();
+        HandlerList.unregisterAll(tickListener);
+        if (asyncTimer != null)
+            asyncTimer.shutdownNow();
+        // Stopping the executor. Running virtual threads are interrupted, while running tasks of the pool are left to finish.
+        if (asyncExecutor instanceof ExecutorService executor) {
+            if (asyncBackend == AsyncBackend.VIRTUAL_THREADS)
+                executor.shutdownNow();
+            else executor.shutdown();
+        }
+        // ...
+        syncDriver = asyncDriver = null;
+        asyncTimer = null;
+        reportTask = null;
+        // Cancelling jobs.
+        workQueue.clear();
+        // Discarding debounced and throttled tasks.
+        keyedTasks.clear();
+        // Cancelling groups, so their tasks are released.
+        for (final TaskGroup group : groups.values())
+            group.cancel();
+        groups.clear();
+        // Clearing the wheels. Asynchronous wheel is cleared under the lock, in case it's being advanced right now.
+        syncWheel.clear();
+        asyncLock.lock();
+        try {
+            asyncWheel.clear();
+        } finally {
+            asyncLock.unlock();
+        }
+    }
+
+    private void advanceSync() {
+        // Sampling tick time on regionized servers, which decides whether work of lower priority is throttled. There is no duration of a single tick to sample there...
+        if (backend.isRegionized() == true)
+            tickMonitor.sample(plugin.getServer().getAverageTickTime());
+        // ...then executing synchronous tasks due at this tick...
+        syncWheel.advance(this::executeSync);
+        // ...followed by main thread continuations submitted since last tick...
+        mainThreadExecutor.drain(plugin.getLogger());
+        // ...and jobs, for as long as the budget allows. Jobs of priority lower than allowed by the current state are deferred.
+        if (workQueue.isEmpty() == false)
+            workQueue.drain(this.computeWorkBudget(), tickMonitor.getState().getLowestPriority());
+    }
+
+    private long computeWorkBudget() {
+        if (adaptiveWorkBudget == false)
+            return workBudget;
+        // Scaling the budget by time left in an average tick. Factor is 1.0 at 25ms, 2.0 at 0ms and 0.25 from ~44ms upwards.
+        final double factor = Math.clamp((50.0D - tickMonitor.getTickTime()) / 25.0D, 0.25D, 2.0D);
+        // ...
+        return (long) (workBudget * factor);
+    }
+
+    private void executeSync(final @NotNull BedrockTask task) {
+        // Executing the task and re-scheduling it in case it should be executed again.
+        if (task.execute(instrumentation) == true)
+            syncWheel.reschedule(task, Math.max(saturatedSum(task.getDeadline(), this.periodOf(task)), syncWheel.getTick() + 1));
+        else task.finish();
+    }
+
+    private boolean executeRegion(final @NotNull BedrockTask task, final int generation) {
+        // Task has been cancelled, or scheduler has been shut down since it was scheduled.
+        if (task.isCancelled() == true || generation != this.generation.get()) {
+            task.finish();
+            return false;
+        }
+        // Skipping executions of deferrable repeating tasks while throttled, as their period cannot be stretched. Accessed by the owning thread only.
+        if (task.getPriority() == Priority.DEFERRABLE && task.getPeriod() > 0 && ++task.skipped < tickMonitor.getState().getPeriodMultiplier())
+            return true;
+        task.skipped = 0;
+        // Executing the task. Backend stops it once 'false' is returned.
+        if (task.execute(instrumentation) == true)
+            return true;
+        // ...
+        task.finish();
+        return false;
+    }
+
+    private void advanceAsync() {
+        asyncPulses.incrementAndGet();
+        // Another thread is advancing the wheel already; it will catch up with this pulse.
+        if (asyncLock.tryLock() == false)
+            return;
+        try {
+            // Advancing the wheel until it catches up with the number of pulses.
+            while (asyncWheel.getTick() < asyncPulses.get())
+                asyncWheel.advance(this::executeAsync);
+        } finally {
+            asyncLock.unlock();
+        }
+    }
+
+    private void executeAsync(final @NotNull BedrockTask task) {
+        // Remembering when task has been handed to the executor, so time spent waiting in the queue can be measured.
+        if (instrumentation.isEnabled() == true)
+            task.queuedAt = System.nanoTime();
+        try {
+            asyncExecutor.execute(() -> {
+                // Executing the task and re-scheduling it in case it should be executed again. Next execution is counted from the deadline, but never overlaps with this one.
+                if (task.execute(instrumentation) == true && running == true)
+                    asyncWheel.schedule(task, Math.max(saturatedSum(task.getDeadline(), this.periodOf(task)), asyncWheel.getTick() + 1));
+                else task.finish();
+            });
+        } catch (final RejectedExecutionException e) {
+            // Executor has been shut down in the meantime; scheduler is being stopped.
+            task.finish();
+        }
+    }
+
+    // Returns period of provided task, stretched in case it's deferrable and server is being throttled.
+    private long periodOf(final @NotNull BedrockTask task) {
+        final long period = task.getPeriod();
+        // ...
+        if (task.getPriority() != Priority.DEFERRABLE)
+            return period;
+        final int multiplier = tickMonitor.getState().getPeriodMultiplier();
+        // ...
+        return (period > Long.MAX_VALUE / multiplier) ? Long.MAX_VALUE : period * multiplier;
+    }
+
+    // Returns name of the first class on the stack that is not part of the scheduler.
+    private static @NotNull String callerName() {
+        return STACK_WALKER.walk((frames) -> frames
+                .map(StackWalker.StackFrame::getDeclaringClass)
+                .filter((type) -> type.getNestHost() != BedrockScheduler.class && type.getPackageName().equals(SchedulerCore.class.getPackageName()) == false)
+                .findFirst()
+                .map(Class::getName)
+                .orElse("unknown")
+        );
+    }
+
+    // Returns sum of provided non-negative numbers, or Long.MAX_VALUE in case it overflows. Periods and delays like Long.MAX_VALUE are used to mean "never".
+    private static long saturatedSum(final long a, final long b) {
+        final long sum = a + b;
+        // ...
+        return (sum < a) ? Long.MAX_VALUE : sum;
+    }
+
+    // Feeds duration of each tick to the TickMonitor.
+    private static final class TickListener implements Listener {
+
+        private final @NotNull TickMonitor monitor;
+
+        TickListener(final @NotNull TickMonitor monitor) {
+            this.monitor = monitor;
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onTickEnd(final @NotNull ServerTickEndEvent event) {
+            monitor.sample(event.getTickDuration());
+        }
+
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.scheduler;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * {@link TaskGroup} keeps track of live tasks scheduled under it, so they can be cancelled together. Tasks leave the group once they finish or are cancelled.
+ * <p>
+ * Code can be executed within scope of a group, using {@link TaskGroup#run(Runnable)} or {@link TaskGroup#call(Supplier)}. Tasks scheduled within the scope
+ * join the group, unless scheduled through a view with a different group. Scope is propagated into tasks of the group, so tasks scheduled by them join it too.
+ */
+public final class TaskGroup {
+
+    // Group of the code currently executed by each thread.
+    private static final ThreadLocal<TaskGroup> SCOPE = new ThreadLocal<>();
+
+    /**
+     * Returns name of (this) {@link TaskGroup}.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final @NotNull String name;
+
+    private final Set<BedrockTask> tasks = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean cancelled;
+
+    public TaskGroup(final @NotNull String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns {@link TaskGroup} of the code currently executed by calling thread, or {@code null} if it's not executed within scope of any group.
+     */
+    public static @Nullable TaskGroup current() {
+        return SCOPE.get();
+    }
+
+    /**
+     * Returns number of live tasks in (this) {@link TaskGroup}.
+     */
+    public int getSize() {
+        return tasks.size();
+    }
+
+    /**
+     * Returns {@code true} if (this) {@link TaskGroup} has been cancelled. Tasks scheduled under cancelled group are cancelled right away.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cancels all tasks of (this) {@link TaskGroup}, and tasks scheduled under it afterwards.
+     */
+    public void cancel() {
+        this.cancelled = true;
+        // Cancelled tasks remove themselves from the set. Iterator of the set tolerates that.
+        for (final BedrockTask task : tasks)
+            task.cancel();
+    }
+
+    /**
+     * Executes provided {@link Runnable} within scope of (this) {@link TaskGroup}.
+     */
+    public void run(final @NotNull Runnable runnable) {
+        final @Nullable TaskGroup previous = enter(this);
+        // ...
+        try {
+            runnable.run();
+        } finally {
+            exit(previous);
+        }
+    }
+
+    /**
+     * Executes provided {@link Supplier} within scope of (this) {@link TaskGroup} and returns its result.
+     */
+    public <T> T call(final @NotNull Supplier<T> supplier) {
+        final @Nullable TaskGroup previous = enter(this);
+        // ...
+        try {
+            return supplier.get();
+        } finally {
+            exit(previous);
+        }
+    }
+
+    /**
+     * Adds provided task to (this) {@link TaskGroup}, or cancels it in case group has been cancelled.
+     */
+    void add(final @NotNull BedrockTask task) {
+        task.group = this;
+        tasks.add(task);
+        // Checking after adding, so task is cancelled either here or by concurrent call to cancel.
+        if (cancelled == true)
+            task.cancel();
+    }
+
+    /**
+     * Removes provided task from (this) {@link TaskGroup}. Called once task finishes or is cancelled.
+     */
+    void remove(final @NotNull BedrockTask task) {
+        tasks.remove(task);
+    }
+
+    /**
+     * Sets scope of calling thread to provided {@link TaskGroup} and returns previous one, which must be restored using {@link TaskGroup#exit(TaskGroup)}.
+     */
+    static @Nullable TaskGroup enter(final @Nullable TaskGroup group) {
+        final @Nullable TaskGroup previous = SCOPE.get();
+        // ...
+        if (group != previous)
+            SCOPE.set(group);
+        return previous;
+    }
+
+    /**
+     * Restores scope of calling thread to provided {@link TaskGroup}.
+     */
+    static void exit(final @Nullable TaskGroup previous) {
+        if (previous != null)
+            SCOPE.set(previous);
+        else SCOPE.remove();
+    }
+
+}
@@ -0,0 +1,182 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.scheduler;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.NotNull;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * {@link TaskMetrics} holds execution statistics of tasks scheduled under the same name. All times are in nanoseconds.
+ * <p>
+ * Execution times are also recorded in a histogram with power-of-two buckets. Bucket {@code i} counts executions that took less than {@code 2^i} nanoseconds,
+ * but not less than {@code 2^(i-1)}. Percentiles are computed from the histogram and are therefore accurate to a factor of two.
+ */
+public final class TaskMetrics {
+
+    // Number of histogram buckets. Last bucket counts everything above ~275 seconds.
+    private static final int BUCKETS = 40;
+
+    /**
+     * Returns name of tasks these metrics are recorded for. It's either the name provided upon scheduling or name of the calling class.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final @NotNull String name;
+
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+    private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0L);
+    private final LongAdder overruns = new LongAdder();
+
+    private final LongAdder latencyCount = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0L);
+
+    TaskMetrics(final @NotNull String name) {
+        this.name = name;
+    }
+
+    void record(final long time, final long overrunThreshold) {
+        histogram.incrementAndGet(Math.min(64 - Long.numberOfLeadingZeros(time), BUCKETS - 1));
+        count.increment();
+        totalTime.add(time);
+        maxTime.accumulate(time);
+        // ...
+        if (time > overrunThreshold)
+            overruns.increment();
+    }
+
+    void recordLatency(final long latency) {
+        latencyCount.increment();
+        totalLatency.add(latency);
+        maxLatency.accumulate(latency);
+    }
+
+    /**
+     * Returns number of executions.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns total time of all executions.
+     */
+    public long getTotalTime() {
+        return totalTime.sum();
+    }
+
+    /**
+     * Returns average time of an execution, or {@code 0} if there were none.
+     */
+    public long getAverageTime() {
+        final long count = this.getCount();
+        // ...
+        return (count > 0) ? this.getTotalTime() / count : 0L;
+    }
+
+    /**
+     * Returns time of the longest execution.
+     */
+    public long getMaxTime() {
+        return maxTime.get();
+    }
+
+    /**
+     * Returns number of executions that took longer than overrun threshold of the {@link Instrumentation}.
+     */
+    public long getOverruns() {
+        return overruns.sum();
+    }
+
+    /**
+     * Returns upper bound of execution time of provided fraction {@code (percentile)} of executions, for example {@code 0.99} for 99th percentile.
+     */
+    public long getPercentile(final double percentile) {
+        final long[] histogram = this.getHistogram();
+        long total = 0L;
+        // ...
+        for (final long value : histogram)
+            total += value;
+        // Finding the first bucket at which cumulative count reaches the percentile.
+        final long target = (long) Math.ceil(total * percentile);
+        long cumulative = 0L;
+        for (int i = 0; i < histogram.length; i++) {
+            cumulative += histogram[i];
+            // ...
+            if (cumulative >= target && cumulative > 0)
+                return (i < 63) ? 1L << i : Long.MAX_VALUE;
+        }
+        return 0L;
+    }
+
+    /**
+     * Returns copy of the execution time histogram. See {@link TaskMetrics} for description of the buckets.
+     */
+    public long @NotNull [] getHistogram() {
+        final long[] copy = new long[BUCKETS];
+        // ...
+        for (int i = 0; i < BUCKETS; i++)
+            copy[i] = histogram.get(i);
+        // ...
+        return copy;
+    }
+
+    /**
+     * Returns average time asynchronous executions spent waiting for a thread, or {@code 0} if there were none.
+     */
+    public long getAverageLatency() {
+        final long count = latencyCount.sum();
+        // ...
+        return (count > 0) ? totalLatency.sum() / count : 0L;
+    }
+
+    /**
+     * Returns longest time an asynchronous execution spent waiting for a thread.
+     */
+    public long getMaxLatency() {
+        return maxLatency.get();
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++)
+            histogram.set(i, 0L);
+        // ...
+        count.reset();
+        totalTime.reset();
+        maxTime.reset();
+        overruns.reset();
+        latencyCount.reset();
+        totalLatency.reset();
+        maxLatency.reset();
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.scheduler;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Properties of tasks scheduled through a view of {@link cloud.grabsky.bedrock.BedrockScheduler BedrockScheduler}.
+ *
+ * @param name name under which tasks are instrumented, or {@code null} to use name of the calling class
+ * @param priority priority of tasks
+ * @param group group of tasks, or {@code null} to use group of the current scope
+ * @param detached whether tasks ignore group of the current scope, in case no group is provided
+ */
+@Internal
+public record TaskOptions(@Nullable String name, @NotNull Priority priority, @Nullable TaskGroup group, boolean detached) {
+
+    /**
+     * Default properties; tasks have no name, {@link Priority#NORMAL} priority and belong to group of the current scope.
+     */
+    public static final TaskOptions DEFAULT = new TaskOptions(null, Priority.NORMAL, null, false);
+
+    /**
+     * Returns copy of (this) {@link TaskOptions} with provided name.
+     */
+    public @NotNull TaskOptions withName(final @Nullable String name) {
+        return new TaskOptions(name, priority, group, detached);
+    }
+
+    /**
+     * Returns copy of (this) {@link TaskOptions} with provided priority.
+     */
+    public @NotNull TaskOptions withPriority(final @NotNull Priority priority) {
+        return new TaskOptions(name, priority, group, detached);
+    }
+
+    /**
+     * Returns copy of (this) {@link TaskOptions} with provided group.
+     */
+    public @NotNull TaskOptions withGroup(final @Nullable TaskGroup group) {
+        return new TaskOptions(name, priority, group, detached);
+    }
+
+    /**
+     * Returns copy of (this) {@link TaskOptions} which ignores group of the current scope. Used for tasks that should live for as long as the scheduler does,
+     * regardless of where they are created from.
+     */
+    public @NotNull TaskOptions detach() {
+        return new TaskOptions(name, priority, group, true);
+    }
+
+}
@@ -0,0 +1,204 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.scheduler;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.NotNull;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * {@link TickMonitor} samples tick time of the server and throttles work of lower {@link Priority} once it crosses configured thresholds.
+ * <p>
+ * While throttled, periods of {@link Priority#DEFERRABLE} repeating tasks are stretched and jobs of lower priorities are deferred until ticks recover.
+ * To prevent flapping around a threshold, state is lowered only once tick time drops below the threshold by {@code hysteresis} milliseconds.
+ * <p>
+ * Decisions are based on exponentially weighted moving average of tick durations, which reacts within a few ticks; unlike average of last 100 ticks
+ * reported by the server, which lags behind by seconds. Weight of the most recent tick can be configured using {@link TickMonitor#setSmoothing(double)}.
+ */
+public final class TickMonitor {
+
+    /**
+     * Returns {@code true} if throttling is enabled. Disabled by default; only work of {@link Priority#DEFERRABLE} and {@link Priority#NORMAL} priority is affected.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private volatile boolean enabled = false;
+
+    /**
+     * Returns tick time, in milliseconds, at which server enters {@link State#SOFT}. Defaults to {@code 45}.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private volatile double softThreshold = 45.0D;
+
+    /**
+     * Returns tick time, in milliseconds, at which server enters {@link State#HARD}. Defaults to {@code 55}.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private volatile double hardThreshold = 55.0D;
+
+    /**
+     * Returns how far, in milliseconds, tick time must drop below a threshold for the state to be lowered. Defaults to {@code 5}.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private volatile double hysteresis = 5.0D;
+
+    /**
+     * Returns weight of the most recent tick in the average, between {@code 0} (exclusive) and {@code 1}. Defaults to {@code 0.25}, meaning it takes
+     * about three ticks for the average to cover half of a sudden change.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private volatile double smoothing = 0.25D;
+
+    /**
+     * Returns average tick time, in milliseconds, at the time of last sample. Zero until first sample.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private volatile double tickTime;
+
+    private volatile @NotNull State state = State.NORMAL;
+
+    // Number of ticks spent in each state, indexed by ordinal.
+    private final LongAdder[] ticks = { new LongAdder(), new LongAdder(), new LongAdder() };
+
+    /**
+     * Enables or disables throttling. Disabling it restores {@link State#NORMAL} right away.
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+        // ...
+        if (enabled == false)
+            this.state = State.NORMAL;
+    }
+
+    /**
+     * Sets tick time thresholds, in milliseconds.
+     *
+     * @param softThreshold tick time at which server enters {@link State#SOFT}
+     * @param hardThreshold tick time at which server enters {@link State#HARD}; must not be lower than {@code (softThreshold)}
+     * @param hysteresis how far tick time must drop below a threshold for the state to be lowered
+     */
+    public void setThresholds(final double softThreshold, final double hardThreshold, final double hysteresis) {
+        if (softThreshold <= 0.0D || hardThreshold < softThreshold)
+            throw new IllegalArgumentException("Thresholds must be positive, with hard threshold not lower than soft threshold.");
+        if (hysteresis < 0.0D)
+            throw new IllegalArgumentException("Hysteresis cannot be negative.");
+        // ...
+        this.softThreshold = softThreshold;
+        this.hardThreshold = hardThreshold;
+        this.hysteresis = hysteresis;
+    }
+
+    /**
+     * Sets weight of the most recent tick in the average. Higher values make throttling react faster, at the cost of reacting to single slow ticks.
+     */
+    public void setSmoothing(final double smoothing) {
+        if (smoothing <= 0.0D || smoothing > 1.0D)
+            throw new IllegalArgumentException("Smoothing must be greater than 0 and not greater than 1.");
+        // ...
+        this.smoothing = smoothing;
+    }
+
+    /**
+     * Returns current {@link State}. Always {@link State#NORMAL} when throttling is disabled.
+     */
+    public @NotNull State getState() {
+        return state;
+    }
+
+    /**
+     * Returns number of ticks sampled while in provided {@link State}.
+     */
+    public long getTicks(final @NotNull State state) {
+        return ticks[state.ordinal()].sum();
+    }
+
+    /**
+     * Updates the average and the state based on provided duration of a tick, in milliseconds. Called once per tick.
+     */
+    void sample(final double duration) {
+        final double previous = this.tickTime;
+        // Starting with the first sample, so average does not need to climb from zero.
+        final double tickTime = (previous == 0.0D) ? duration : previous + smoothing * (duration - previous);
+        // ...
+        this.tickTime = tickTime;
+        // Staying in NORMAL state while disabled.
+        if (enabled == false) {
+            ticks[State.NORMAL.ordinal()].increment();
+            return;
+        }
+        final State current = this.state;
+        final State next;
+        // Entering a higher state once threshold is reached, and leaving it once tick time drops below the threshold by the hysteresis.
+        if (tickTime >= hardThreshold || (current == State.HARD && tickTime > hardThreshold - hysteresis))
+            next = State.HARD;
+        else if (tickTime >= softThreshold || (current != State.NORMAL && tickTime > softThreshold - hysteresis))
+            next = State.SOFT;
+        else next = State.NORMAL;
+        // ...
+        this.state = next;
+        ticks[next.ordinal()].increment();
+    }
+
+    /**
+     * Throttling state of the server.
+     */
+    public enum State {
+
+        /**
+         * Server keeps up. Nothing is throttled.
+         */
+        NORMAL(1, Priority.DEFERRABLE),
+
+        /**
+         * Server is close to falling behind. Periods of deferrable repeating tasks are doubled and deferrable jobs are postponed.
+         */
+        SOFT(2, Priority.NORMAL),
+
+        /**
+         * Server is falling behind. Periods of deferrable repeating tasks are quadrupled and only critical jobs are processed.
+         */
+        HARD(4, Priority.CRITICAL);
+
+        /**
+         * Returns number periods of deferrable repeating tasks are multiplied by in this state.
+         */
+        @Getter(AccessLevel.PUBLIC)
+        private final int periodMultiplier;
+
+        /**
+         * Returns lowest {@link Priority} of jobs processed in this state.
+         */
+        @Getter(AccessLevel.PUBLIC)
+        private final @NotNull Priority lowestPriority;
+
+        State(final int periodMultiplier, final @NotNull Priority lowestPriority) {
+            this.periodMultiplier = periodMultiplier;
+            this.lowestPriority = lowestPriority;
+        }
+
+    }
+
+}
@@ -0,0 +1,247 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link TimingWheel} is a hierarchical timing wheel of {@link BedrockTask BedrockTasks}. Scheduling and cancelling are both {@code O(1)}.
+ * <p>
+ * Wheel has 4 levels of 64 buckets each. Level 0 holds tasks due within the next 64 ticks, one bucket per tick. Each next level covers 64 times
+ * the range of previous one, and its buckets are moved one level down once wheel reaches them. Tasks further than ~16.7M ticks (~9.7 days)
+ * are kept in the last bucket of the highest level and re-inserted until they fit.
+ * <p>
+ * Tasks due at the same tick are executed in order they were created in, same as Bukkit scheduler does.
+ * <p>
+ * Wheel is advanced by a single thread at a time. Tasks can be scheduled and cancelled from any thread; such changes are queued and applied on next advance.
+ */
+@Internal
+public final class TimingWheel {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    // Max distance between current tick and a deadline that can be represented by the wheel.
+    private static final long RANGE = (1L << (BITS * LEVELS)) - 1;
+
+    // First and last task of each bucket. Tasks of the same bucket form a doubly-linked list, ordered by creation.
+    private final BedrockTask[] buckets = new BedrockTask[LEVELS * SLOTS];
+    private final BedrockTask[] tails = new BedrockTask[LEVELS * SLOTS];
+
+    // Tasks waiting to be linked or unlinked. Used to apply changes made from threads other than the one advancing the wheel.
+    private final Queue<BedrockTask> inbound = new ConcurrentLinkedQueue<>();
+    private final Queue<BedrockTask> cancelled = new ConcurrentLinkedQueue<>();
+
+    // Current tick of the wheel. Written only by thread advancing the wheel.
+    private volatile long tick;
+
+    // Number of tasks linked to the wheel. Written only by thread advancing the wheel.
+    private volatile int size;
+
+    /**
+     * Returns current tick of (this) {@link TimingWheel}. Starts at {@code 0} and is incremented by each call to {@link TimingWheel#advance(Consumer)}.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Returns number of tasks waiting to be executed.
+     */
+    public int getSize() {
+        return size + inbound.size();
+    }
+
+    /**
+     * Schedules provided {@link BedrockTask} to be executed at tick specified by {@code (deadline)}. Can be called from any thread.
+     * Deadlines that already passed are executed on next advance.
+     */
+    public void schedule(final @NotNull BedrockTask task, final long deadline) {
+        task.wheel = this;
+        task.deadline = deadline;
+        // Queuing the task. It's linked on next advance, by thread advancing the wheel.
+        inbound.add(task);
+    }
+
+    /**
+     * Schedules provided {@link BedrockTask} to be executed at tick specified by {@code (deadline)}. Must be called by thread advancing the wheel,
+     * which is the case for tasks re-scheduled by the consumer of {@link TimingWheel#advance(Consumer)}. Deadline must be after current tick.
+     */
+    public void reschedule(final @NotNull BedrockTask task, final long deadline) {
+        task.deadline = deadline;
+        // Linking directly, as it's called from within the wheel.
+        this.link(task);
+    }
+
+    void cancel(final @NotNull BedrockTask task) {
+        cancelled.add(task);
+    }
+
+    /**
+     * Advances (this) {@link TimingWheel} by one tick and passes all tasks due at that tick to provided {@link Consumer}. Tasks are removed from the wheel
+     * before being passed and can be re-scheduled using {@link TimingWheel#reschedule(BedrockTask, long)}.
+     */
+    public void advance(final @NotNull Consumer<BedrockTask> consumer) {
+        final long tick = this.tick + 1;
+        this.tick = tick;
+        @Nullable BedrockTask task;
+        // Unlinking tasks cancelled since last advance.
+        while ((task = cancelled.poll()) != null)
+            this.unlink(task);
+        // Finding the highest level that has reached a bucket boundary at this tick...
+        int level = 1;
+        while (level < LEVELS && (tick & ((1L << (BITS * level)) - 1)) == 0)
+            level++;
+        // ...and moving its current bucket down, along with current buckets of all levels below it. Higher levels go first, so tasks can fall through.
+        for (int i = level - 1; i >= 1; i--)
+            this.cascade(i * SLOTS + (int) ((tick >>> (BITS * i)) & MASK));
+        // Linking tasks scheduled since last advance.
+        while ((task = inbound.poll()) != null)
+            if (task.isCancelled() == false)
+                this.link(task);
+        // Detaching the bucket of current tick. Re-scheduled tasks never land in it, as their deadline is after current tick.
+        final int bucket = (int) (tick & MASK);
+        @Nullable BedrockTask current = buckets[bucket];
+        buckets[bucket] = null;
+        tails[bucket] = null;
+        // Passing tasks of the bucket to the consumer.
+        while (current != null) {
+            final @Nullable BedrockTask next = current.next;
+            // ...
+            current.prev = current.next = null;
+            current.bucket = -1;
+            size--;
+            // Skipping tasks cancelled in the meantime.
+            if (current.isCancelled() == false)
+                consumer.accept(current);
+            current = next;
+        }
+    }
+
+    /**
+     * Removes all tasks from (this) {@link TimingWheel}, marking them as done. Must be called by thread advancing the wheel, or after it stopped.
+     */
+    public void clear() {
+        @Nullable BedrockTask task;
+        // Marking queued tasks as done.
+        while ((task = inbound.poll()) != null)
+            task.finish();
+        cancelled.clear();
+        // Marking linked tasks as done.
+        for (int i = 0; i < buckets.length; i++) {
+            @Nullable BedrockTask current = buckets[i];
+            buckets[i] = null;
+            tails[i] = null;
+            // ...
+            while (current != null) {
+                final @Nullable BedrockTask next = current.next;
+                current.prev = current.next = null;
+                current.bucket = -1;
+                current.finish();
+                current = next;
+            }
+        }
+        size = 0;
+    }
+
+    private void link(final @NotNull BedrockTask task) {
+        final long delta = Math.max(task.deadline - tick, 0);
+        // Deadlines further than range of the wheel are clamped, and linked again once their bucket is reached.
+        final long target = tick + Math.min(delta, RANGE);
+        // Finding the lowest level that can represent the distance.
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (BITS * (level + 1))))
+            level++;
+        // ...
+        final int bucket = level * SLOTS + (int) ((target >>> (BITS * level)) & MASK);
+        // Finding the last task created before this one. Tasks are mostly linked in order of creation, so this usually stops at the tail.
+        // Tasks moved down from higher levels can be older than tasks already linked, and are inserted before them.
+        @Nullable BedrockTask after = tails[bucket];
+        while (after != null && isNewer(after, task) == true)
+            after = after.prev;
+        // Inserting task after it, or at the head of the bucket if there is none.
+        task.bucket = bucket;
+        task.prev = after;
+        task.next = (after != null) ? after.next : buckets[bucket];
+        // ...
+        if (task.next != null)
+            task.next.prev = task;
+        else tails[bucket] = task;
+        // ...
+        if (after != null)
+            after.next = task;
+        else buckets[bucket] = task;
+        size++;
+    }
+
+    // Returns true if task 'first' has been created after task 'second'. Task ids are negative and decremented for each new task.
+    private static boolean isNewer(final @NotNull BedrockTask first, final @NotNull BedrockTask second) {
+        return first.getTaskId() < second.getTaskId();
+    }
+
+    private void unlink(final @NotNull BedrockTask task) {
+        // Task is not linked; it's either waiting in the inbound queue or has already been executed.
+        if (task.bucket == -1)
+            return;
+        // ...
+        if (task.prev != null)
+            task.prev.next = task.next;
+        else buckets[task.bucket] = task.next;
+        // ...
+        if (task.next != null)
+            task.next.prev = task.prev;
+        else tails[task.bucket] = task.prev;
+        // ...
+        task.prev = task.next = null;
+        task.bucket = -1;
+        size--;
+    }
+
+    private void cascade(final int bucket) {
+        @Nullable BedrockTask current = buckets[bucket];
+        buckets[bucket] = null;
+        tails[bucket] = null;
+        // Linking tasks of the bucket again. Their distance to the deadline is now smaller, so they end up at a lower level.
+        while (current != null) {
+            final @Nullable BedrockTask next = current.next;
+            // ...
+            current.prev = current.next = null;
+            current.bucket = -1;
+            size--;
+            // ...
+            if (current.isCancelled() == false)
+                this.link(current);
+            current = next;
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.scheduler;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * {@link WorkJob} is a job processed on the main thread in small portions, each tick, within a time budget. See {@link WorkQueue}.
+ */
+public final class WorkJob<T> {
+
+    /**
+     * Returns {@link Priority} of (this) {@link WorkJob}.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final @NotNull Priority priority;
+
+    /**
+     * Returns total number of units of (this) {@link WorkJob}, or {@code -1} if not known.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final long total;
+
+    /**
+     * Returns {@link CompletableFuture} completed once all units are processed. Completed exceptionally if processing of any unit fails,
+     * which stops (this) {@link WorkJob}. Cancelling the future cancels the job. Completed on the main thread.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private final @NotNull Iterator<? extends T> units;
+    private final @NotNull Consumer<? super T> worker;
+
+    // Number of units processed so far. Written on the main thread only.
+    private volatile long processed;
+
+    @Internal
+    public WorkJob(final @NotNull Priority priority, final @NotNull Iterator<? extends T> units, final long total, final @NotNull Consumer<? super T> worker) {
+        this.priority = priority;
+        this.units = units;
+        this.total = total;
+        this.worker = worker;
+    }
+
+    /**
+     * Returns number of units processed so far.
+     */
+    public long getProcessed() {
+        return processed;
+    }
+
+    /**
+     * Returns fraction of units processed so far, from {@code 0.0} to {@code 1.0}, or {@code -1.0} if total number of units is not known and job is not done yet.
+     */
+    public double getProgress() {
+        if (completion.isDone() == true)
+            return 1.0D;
+        // ...
+        return (total > 0) ? Math.min((double) processed / total, 1.0D) : (total == 0) ? 1.0D : -1.0D;
+    }
+
+    /**
+     * Returns {@code true} if (this) {@link WorkJob} is done, either because all units have been processed, processing failed, or it has been cancelled.
+     */
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    /**
+     * Cancels (this) {@link WorkJob}. Units that have not been processed yet are discarded.
+     */
+    public void cancel() {
+        completion.cancel(false);
+    }
+
+    /**
+     * Processes units of (this) {@link WorkJob} until {@link System#nanoTime()} reaches provided {@code deadline}. At least one unit is processed per call.
+     * Returns {@code true} if job is done and should not be processed again.
+     */
+    boolean process(final long deadline) {
+        // Job has been cancelled.
+        if (completion.isDone() == true)
+            return true;
+        try {
+            long processed = this.processed;
+            // Processing units until the deadline is reached.
+            do {
+                // Completing the job in case there are no more units.
+                if (units.hasNext() == false) {
+                    this.processed = processed;
+                    completion.complete(null);
+                    return true;
+                }
+                worker.accept(units.next());
+                processed++;
+            } while (System.nanoTime() < deadline);
+            // ...
+            this.processed = processed;
+            return false;
+        } catch (final Throwable thr) {
+            completion.completeExceptionally(thr);
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link WorkQueue} processes {@link WorkJob WorkJobs} on the main thread, within a time budget per tick.
+ * <p>
+ * Jobs are processed in order of their {@link Priority}. Jobs of the same priority take turns; job that used up the budget goes to the back of its queue.
+ * At least one unit is processed per tick, so jobs make progress even if the budget is smaller than a single unit.
+ */
+@Internal
+public final class WorkQueue {
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    // Jobs submitted since last drain. Can be added to from any thread.
+    private final Queue<WorkJob<?>> inbound = new ConcurrentLinkedQueue<>();
+
+    // Jobs being processed, one queue per priority. Accessed on the main thread only.
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<WorkJob<?>>[] queues = new ArrayDeque[PRIORITIES.length];
+
+    public WorkQueue() {
+        for (int i = 0; i < queues.length; i++)
+            queues[i] = new ArrayDeque<>();
+    }
+
+    /**
+     * Submits provided {@link WorkJob} to be processed starting from next drain. Can be called from any thread.
+     */
+    public void submit(final @NotNull WorkJob<?> job) {
+        inbound.add(job);
+    }
+
+    /**
+     * Returns {@code true} if there are no jobs to process. Must be called on the main thread.
+     */
+    public boolean isEmpty() {
+        if (inbound.isEmpty() == false)
+            return false;
+        // ...
+        for (final ArrayDeque<WorkJob<?>> queue : queues)
+            if (queue.isEmpty() == false)
+                return false;
+        // ...
+        return true;
+    }
+
+    /**
+     * Returns number of jobs that are not done yet, including the ones submitted since last drain. Must be called on the main thread.
+     */
+    public int getSize() {
+        int size = inbound.size();
+        // ...
+        for (final ArrayDeque<WorkJob<?>> queue : queues)
+            size += queue.size();
+        // ...
+        return size;
+    }
+
+    /**
+     * Processes jobs until provided budget, in nanoseconds, is used up or there are no more jobs. Jobs of priority lower than {@code (lowest)} are left for later.
+     */
+    public void drain(final long budget, final @NotNull Priority lowest) {
+        final long deadline = System.nanoTime() + budget;
+        @Nullable WorkJob<?> job;
+        // Moving jobs submitted since last drain to their queues.
+        while ((job = inbound.poll()) != null)
+            queues[job.getPriority().ordinal()].add(job);
+        // Whether a unit has been processed already during this drain.
+        boolean progressed = false;
+        // Processing jobs, starting from the highest priority.
+        for (int i = 0; i <= lowest.ordinal(); i++) {
+            final ArrayDeque<WorkJob<?>> queue = queues[i];
+            // Each job is visited at most once per drain.
+            int remaining = queue.size();
+            // ...
+            while (remaining-- > 0 && (progressed == false || System.nanoTime() < deadline)) {
+                job = queue.poll();
+                progressed = true;
+                // Moving unfinished job to the back of the queue, so jobs of the same priority take turns.
+                if (job.process(deadline) == false)
+                    queue.add(job);
+            }
+        }
+    }
+
+    /**
+     * Cancels all jobs.
+     */
+    public void clear() {
+        @Nullable WorkJob<?> job;
+        // ...
+        while ((job = inbound.poll()) != null)
+            job.cancel();
+        // ...
+        for (final ArrayDeque<WorkJob<?>> queue : queues)
+            while ((job = queue.poll()) != null)
+                job.cancel();
+    }
+
+}
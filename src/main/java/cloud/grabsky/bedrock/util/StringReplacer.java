@@ -0,0 +1,199 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * {@link StringReplacer} replaces occurrences of multiple targets in a single pass over the input, using a trie compiled from all targets.
+ * <p>
+ * Matching is leftmost-longest and replaced text is not scanned again. Result is the same as of chained {@link String#replace} calls only if no replacement
+ * contains any of the targets and no two targets overlap, that is no target contains another one and no suffix of a target is a prefix of another one.
+ * Otherwise, results can differ; for example targets {@code ["a", "ab"]} replace the whole {@code "ab"} with the second replacement, whereas chained calls
+ * would replace {@code "a"} first, so {@code "ab"} would never be matched.
+ */
+public final class StringReplacer {
+
+    // Maximum number of compiled instances kept in the cache. Cache is cleared once this limit is reached.
+    private static final int CACHE_CAPACITY = 256;
+
+    private static final Map<List<String>, StringReplacer> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Returns targets of (this) {@link StringReplacer}, in order they were specified in.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final @NotNull List<String> targets;
+
+    private final @NotNull Node root = new Node();
+
+    private StringReplacer(final @NotNull List<String> targets) {
+        this.targets = targets;
+        // Building the trie...
+        for (int i = 0; i < targets.size(); i++) {
+            final String target = targets.get(i);
+            // Empty targets would match everywhere.
+            if (target.isEmpty() == true)
+                throw new IllegalArgumentException("Target cannot be empty.");
+            // ...
+            Node node = root;
+            for (int j = 0; j < target.length(); j++)
+                node = node.childOrCreate(target.charAt(j));
+            // Keeping the first occurrence of duplicated target, same as chained replace calls would do.
+            if (node.target == -1)
+                node.target = i;
+        }
+    }
+
+    /**
+     * Returns {@link StringReplacer} for provided targets, compiling it in case it's not cached yet.
+     */
+    public static @NotNull StringReplacer of(final @NotNull String... targets) {
+        final @Nullable StringReplacer existing = CACHE.get(Arrays.asList(targets));
+        // Returning cached instance...
+        if (existing != null)
+            return existing;
+        // Clearing the cache in case it has grown too big. Target sets are expected to be mostly static.
+        if (CACHE.size() >= CACHE_CAPACITY)
+            CACHE.clear();
+        // Compiling and caching new instance.
+        final StringReplacer replacer = new StringReplacer(List.of(targets));
+        CACHE.put(replacer.targets, replacer);
+        // ...
+        return replacer;
+    }
+
+    /**
+     * Returns {@code true} if provided {@link String} {@code (input)} contains at least one of the targets.
+     */
+    public boolean matches(final @NotNull String input) {
+        for (int i = 0; i < input.length(); i++)
+            if (this.match(input, i) != 0L)
+                return true;
+        // ...
+        return false;
+    }
+
+    /**
+     * Returns copy of provided {@link String} {@code (input)} with occurrences of each target replaced by replacement at the same index.
+     * Input is returned as-is if it contains none of the targets.
+     */
+    public @NotNull String replace(final @NotNull String input, final @NotNull String... replacements) {
+        if (replacements.length != targets.size())
+            throw new IllegalArgumentException("Expected " + targets.size() + " replacements, got " + replacements.length + ".");
+        // Builder is created lazily, once the first match is found.
+        @Nullable StringBuilder builder = null;
+        int last = 0;
+        int i = 0;
+        // ...
+        while (i < input.length()) {
+            final long match = this.match(input, i);
+            // Moving to the next character if there is no match at this position.
+            if (match == 0L) {
+                i++;
+                continue;
+            }
+            // Unpacking index of the target and end of the match.
+            final int target = (int) (match >>> 32) - 1;
+            final int end = (int) match;
+            // ...
+            if (builder == null)
+                builder = new StringBuilder(input.length() + 16);
+            // Appending text preceding the match and the replacement.
+            builder.append(input, last, i).append(replacements[target]);
+            // Continuing after the match.
+            i = last = end;
+        }
+        // Returning input as-is in case nothing has been replaced.
+        if (builder == null)
+            return input;
+        // Appending remaining text and returning.
+        return builder.append(input, last, input.length()).toString();
+    }
+
+    // Returns longest match starting at 'start', packed as ((target + 1) << 32 | end), or 0 if there is no match. Packing saves an allocation per match.
+    private long match(final @NotNull String input, final int start) {
+        @Nullable Node node = root;
+        long match = 0L;
+        // Walking the trie as long as characters match.
+        for (int j = start; j < input.length(); j++) {
+            node = node.child(input.charAt(j));
+            // ...
+            if (node == null)
+                break;
+            // Remembering the longest match so far.
+            if (node.target != -1)
+                match = ((long) (node.target + 1) << 32) | (j + 1);
+        }
+        return match;
+    }
+
+    private static final class Node {
+
+        private static final char[] NO_CHARS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        // Characters and children at corresponding indexes. Targets are usually short and distinct, so linear scan is good enough.
+        private char[] chars = NO_CHARS;
+        private Node[] children = NO_CHILDREN;
+
+        // Index of the target ending at this node, or -1 if none.
+        private int target = -1;
+
+        private @Nullable Node child(final char c) {
+            for (int i = 0; i < chars.length; i++)
+                if (chars[i] == c)
+                    return children[i];
+            // ...
+            return null;
+        }
+
+        private @NotNull Node childOrCreate(final char c) {
+            final @Nullable Node existing = this.child(c);
+            // ...
+            if (existing != null)
+                return existing;
+            // Growing arrays by one; this happens only when compiling.
+            chars = Arrays.copyOf(chars, chars.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            // ...
+            final Node node = new Node();
+            chars[chars.length - 1] = c;
+            children[children.length - 1] = node;
+            // ...
+            return node;
+        }
+
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CooldownTableTest {
+
+    private static final UUID VIEWER = new UUID(1L, 1L);
+
+    private final CooldownTable table = new CooldownTable();
+
+    @Test
+    public void clicksAreRejectedUntilIntervalPasses() {
+        final ClickCooldown cooldown = ClickCooldown.of(200L);
+        // ...
+        assertTrue(table.tryAcquire(VIEWER, -1, cooldown, 0L));
+        assertFalse(table.tryAcquire(VIEWER, -1, cooldown, 100L));
+        assertFalse(table.tryAcquire(VIEWER, -1, cooldown, 199L));
+        assertTrue(table.tryAcquire(VIEWER, -1, cooldown, 200L));
+        assertFalse(table.tryAcquire(VIEWER, -1, cooldown, 200L));
+    }
+
+    @Test
+    public void clicksAreAllowedInBursts() {
+        final ClickCooldown cooldown = ClickCooldown.of(100L, 3);
+        // Full bucket allows three clicks back-to-back.
+        assertTrue(table.tryAcquire(VIEWER, -1, cooldown, 0L));
+        assertTrue(table.tryAcquire(VIEWER, -1, cooldown, 0L));
+        assertTrue(table.tryAcquire(VIEWER, -1, cooldown, 0L));
+        assertFalse(table.tryAcquire(VIEWER, -1, cooldown, 0L));
+        // One click is replenished each interval.
+        assertTrue(table.tryAcquire(VIEWER, -1, cooldown, 100L));
+        assertFalse(table.tryAcquire(VIEWER, -1, cooldown, 100L));
+        // Bucket is full again once enough time passes.
+        assertTrue(table.tryAcquire(VIEWER, -1, cooldown, 1000L));
+        assertTrue(table.tryAcquire(VIEWER, -1, cooldown, 1000L));
+        assertTrue(table.tryAcquire(VIEWER, -1, cooldown, 1000L));
+        assertFalse(table.tryAcquire(VIEWER, -1, cooldown, 1000L));
+    }
+
+    @Test
+    public void scopesAndViewersAreCountedSeparately() {
+        final ClickCooldown cooldown = ClickCooldown.of(200L);
+        final UUID other = new UUID(2L, 2L);
+        // ...
+        assertTrue(table.tryAcquire(VIEWER, -1, cooldown, 0L));
+        assertTrue(table.tryAcquire(VIEWER, 5, cooldown, 0L));
+        assertTrue(table.tryAcquire(other, -1, cooldown, 0L));
+        assertFalse(table.tryAcquire(VIEWER, 5, cooldown, 0L));
+        assertEquals(3, table.size());
+    }
+
+    @Test
+    public void disabledCooldownTakesNoSpace() {
+        for (int i = 0; i < 10; i++)
+            assertTrue(table.tryAcquire(VIEWER, -1, ClickCooldown.NONE, 0L));
+        // ...
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void purgedViewersCanClickRightAway() {
+        final ClickCooldown cooldown = ClickCooldown.of(200L);
+        // ...
+        assertTrue(table.tryAcquire(VIEWER, -1, cooldown, 0L));
+        assertTrue(table.tryAcquire(VIEWER, 5, cooldown, 0L));
+        table.purge(VIEWER);
+        assertTrue(table.tryAcquire(VIEWER, -1, cooldown, 1L));
+        assertTrue(table.tryAcquire(VIEWER, 5, cooldown, 1L));
+    }
+
+    @Test
+    public void entriesSurviveResize() {
+        final ClickCooldown cooldown = ClickCooldown.of(1000L);
+        // Inserting enough viewers to resize the table multiple times.
+        for (int i = 0; i < 1000; i++)
+            assertTrue(table.tryAcquire(viewer(i), -1, cooldown, 0L));
+        // ...
+        for (int i = 0; i < 1000; i++)
+            assertFalse(table.tryAcquire(viewer(i), -1, cooldown, 1L));
+        assertEquals(1000, table.size());
+    }
+
+    @Test
+    public void expiredEntriesAreDroppedUponResize() {
+        final ClickCooldown cooldown = ClickCooldown.of(10L);
+        // ...
+        for (int i = 0; i < 100; i++)
+            table.tryAcquire(viewer(i), -1, cooldown, 0L);
+        // Entries above have expired by now. Inserting new ones makes the table resize, which drops the expired ones.
+        for (int i = 100; i < 200; i++)
+            table.tryAcquire(viewer(i), -1, cooldown, 1000L);
+        // ...
+        assertEquals(100, table.size());
+        for (int i = 100; i < 200; i++)
+            assertFalse(table.tryAcquire(viewer(i), -1, cooldown, 1001L));
+        // Expired entries behave as missing ones.
+        for (int i = 0; i < 100; i++)
+            assertTrue(table.tryAcquire(viewer(i), -1, cooldown, 1001L));
+    }
+
+    private static UUID viewer(final int index) {
+        return new UUID(0x9E3779B97F4A7C15L * index, index);
+    }
+
+}
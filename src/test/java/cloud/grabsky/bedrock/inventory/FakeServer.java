@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.inventory;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.function.BiFunction;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Fake {@link Server} which creates in-memory {@link Inventory Inventories}, so panels can be tested without a running server.
+ */
+final class FakeServer {
+
+    private FakeServer() { /* EMPTY */ }
+
+    /**
+     * Installs {@link FakeServer} as the server returned by {@link Bukkit#getServer()}, unless one is installed already.
+     */
+    static synchronized void install() {
+        if (Bukkit.getServer() != null)
+            return;
+        final Server server = proxy(Server.class, (method, args) -> switch (method.getName()) {
+            case "createInventory" -> inventory((InventoryHolder) args[0], (args[1] instanceof InventoryType type) ? type.getDefaultSize() : (int) args[1]);
+            case "getLogger" -> Logger.getLogger("FakeServer");
+            case "isPrimaryThread" -> true;
+            default -> null;
+        });
+        // Setting the field directly, as Bukkit#setServer looks up version information the fake server does not have.
+        try {
+            final Field field = Bukkit.class.getDeclaredField("server");
+            field.setAccessible(true);
+            field.set(null, server);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not install fake server.", e);
+        }
+    }
+
+    private static @NotNull Inventory inventory(final @NotNull InventoryHolder holder, final int size) {
+        final ItemStack[] contents = new ItemStack[size];
+        // ...
+        return proxy(Inventory.class, (method, args) -> switch (method.getName()) {
+            case "getSize" -> size;
+            case "getItem" -> contents[(int) args[0]];
+            case "setItem" -> contents[(int) args[0]] = (ItemStack) args[1];
+            case "getContents" -> contents.clone();
+            case "clear" -> {
+                if (args == null)
+                    Arrays.fill(contents, null);
+                else contents[(int) args[0]] = null;
+                yield null;
+            }
+            case "getHolder" -> holder;
+            default -> null;
+        });
+    }
+
+    // Creates proxy of provided interface. Object methods are based on identity, and methods returning primitives default to zero or false.
+    @SuppressWarnings("unchecked")
+    private static <T> @NotNull T proxy(final @NotNull Class<T> type, final @NotNull BiFunction<Method, Object[], Object> handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class)
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                };
+            final @Nullable Object result = handler.apply(method, args);
+            // Result of void methods is ignored.
+            if (result == null && method.getReturnType().isPrimitive() == true && method.getReturnType() != void.class)
+                return Array.get(Array.newInstance(method.getReturnType(), 1), 0);
+            return result;
+        });
+    }
+
+    /**
+     * {@link ItemStack} compared by name only. Does not depend on the server, unlike regular items.
+     */
+    static final class Item extends ItemStack {
+
+        private @NotNull String name;
+
+        Item(final @NotNull String name) {
+            this.name = name;
+        }
+
+        /**
+         * Changes name of (this) {@link Item}, the same way item meta of a regular item could be changed after it's displayed.
+         */
+        void rename(final @NotNull String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+
+        @Override
+        public @NotNull Item clone() {
+            return new Item(name);
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object other) {
+            return other instanceof Item item && item.name.equals(name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return name;
+        }
+
+    }
+
+}
@@ -0,0 +1,219 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.inventory;
+
+import cloud.grabsky.bedrock.inventory.FakeServer.Item;
+import cloud.grabsky.bedrock.inventory.PaginatedPanel.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.jetbrains.annotations.NotNull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PaginatedPanelTest {
+
+    // Slots of navigation buttons. Content slots are 0-8, the first row.
+    private static final int PREVIOUS = 9;
+    private static final int NEXT = 17;
+
+    private static final Item PREVIOUS_ITEM = new Item("previous");
+    private static final Item NEXT_ITEM = new Item("next");
+    private static final Item LOADING_ITEM = new Item("loading");
+
+    private final List<String> entries = IntStream.range(0, 30).mapToObj(String::valueOf).collect(Collectors.toCollection(ArrayList::new));
+
+    @BeforeEach
+    public void setup() {
+        FakeServer.install();
+    }
+
+    @Test
+    public void firstPageIsDisplayedUponBuild() {
+        final PaginatedPanel<String> panel = this.builder(DataSource.of(entries)).build();
+        // ...
+        assertContents(panel, 0, 9);
+        assertFalse(panel.hasPreviousPage());
+        assertTrue(panel.hasNextPage());
+        assertNull(panel.getInventory().getItem(PREVIOUS));
+        assertEquals(NEXT_ITEM, panel.getInventory().getItem(NEXT));
+    }
+
+    @Test
+    public void pagesAreNavigatedUntilTheEndOfData() {
+        final PaginatedPanel<String> panel = this.builder(DataSource.of(entries)).build();
+        // ...
+        panel.nextPage();
+        assertEquals(1, panel.getPage());
+        assertContents(panel, 9, 9);
+        assertEquals(PREVIOUS_ITEM, panel.getInventory().getItem(PREVIOUS));
+        // Last page is partial; remaining slots are empty and there is no next page.
+        panel.nextPage();
+        panel.nextPage();
+        assertEquals(3, panel.getPage());
+        assertContents(panel, 27, 3);
+        assertFalse(panel.hasNextPage());
+        assertNull(panel.getInventory().getItem(NEXT));
+        // Navigating past the end does nothing.
+        panel.nextPage();
+        assertEquals(3, panel.getPage());
+        // ...
+        panel.previousPage();
+        assertEquals(2, panel.getPage());
+        assertContents(panel, 18, 9);
+    }
+
+    @Test
+    public void navigationButtonsChangePages() {
+        final PaginatedPanel<String> panel = this.builder(DataSource.of(entries)).build();
+        // ...
+        panel.getAction(NEXT).accept(null);
+        assertEquals(1, panel.getPage());
+        panel.getAction(PREVIOUS).accept(null);
+        assertEquals(0, panel.getPage());
+    }
+
+    @Test
+    public void windowScrollsAcrossPageBoundaries() {
+        final PaginatedPanel<String> panel = this.builder(DataSource.of(entries)).build();
+        // ...
+        panel.scroll(5);
+        assertEquals(5, panel.getOffset());
+        assertContents(panel, 5, 9);
+        // Scrolling stops once the last entry is displayed.
+        panel.setOffset(21);
+        assertContents(panel, 21, 9);
+        assertFalse(panel.hasNextPage());
+        panel.scroll(5);
+        assertEquals(21, panel.getOffset());
+    }
+
+    @Test
+    public void invalidatedPagesAreFetchedAgain() {
+        final PaginatedPanel<String> panel = this.builder(DataSource.of(() -> entries)).build();
+        // Cached pages are displayed until invalidated.
+        entries.set(0, "changed");
+        panel.refresh();
+        assertEquals(new Item("0"), panel.getInventory().getItem(0));
+        // ...
+        panel.invalidate();
+        assertEquals(new Item("changed"), panel.getInventory().getItem(0));
+    }
+
+    @Test
+    public void asynchronousPagesAreDisplayedOnceFetched() {
+        final Queue<Runnable> executor = new ArrayDeque<>();
+        final List<CompletableFuture<List<String>>> requests = new ArrayList<>();
+        // ...
+        final PaginatedPanel<String> panel = this.builder((offset, limit) -> {
+            final CompletableFuture<List<String>> future = new CompletableFuture<>();
+            requests.add(future);
+            return future;
+        }).setExecutor(executor::add).build();
+        // Loading item is displayed while the first page is being fetched.
+        assertEquals(LOADING_ITEM, panel.getInventory().getItem(0));
+        assertEquals(1, requests.size());
+        // Completing the fetch on another thread hands the page to the executor.
+        requests.get(0).complete(entries.subList(0, 10));
+        assertEquals(LOADING_ITEM, panel.getInventory().getItem(0));
+        executor.poll().run();
+        // ...
+        assertContents(panel, 0, 9);
+        assertTrue(panel.hasNextPage());
+    }
+
+    @Test
+    public void failedPagesAreNotCached() {
+        final PaginatedPanel<String> panel = this.builder((offset, limit) -> CompletableFuture.failedFuture(new IllegalStateException("Expected failure."))).build();
+        // ...
+        assertEquals(LOADING_ITEM, panel.getInventory().getItem(0));
+        assertFalse(panel.hasNextPage());
+    }
+
+    @Test
+    public void cancelledPagesAreNotCached() {
+        final PaginatedPanel<String> panel = this.builder((offset, limit) -> {
+            final CompletableFuture<List<String>> future = new CompletableFuture<>();
+            future.cancel(false);
+            return future;
+        }).build();
+        // ...
+        assertEquals(LOADING_ITEM, panel.getInventory().getItem(0));
+    }
+
+    @Test
+    public void asynchronousSourcesRequireExecutor() {
+        assertThrows(IllegalStateException.class, () -> this.builder((offset, limit) -> new CompletableFuture<>()).build());
+    }
+
+    @Test
+    public void invalidSlotsAreRejected() {
+        assertThrows(IllegalStateException.class, () -> this.builder(DataSource.of(entries)).setContentSlots(0, 19).build());
+        assertThrows(IllegalStateException.class, () -> this.builder(DataSource.of(entries)).setContentSlots(0, 10).build());
+        assertThrows(IllegalStateException.class, () -> this.builder(DataSource.of(entries)).setContentSlots(0, 1, 1).build());
+        assertThrows(IllegalStateException.class, () -> this.builder(DataSource.of(entries)).setNextPageButton(18, NEXT_ITEM).build());
+    }
+
+    @Test
+    public void panelSettersCanBeChainedInAnyOrder() {
+        final PaginatedPanel<String> panel = new PaginatedPanel.Builder<String>()
+                .setRows(2)
+                .setDataSource(DataSource.of(entries))
+                .setClickCooldown(ClickCooldown.NONE)
+                .setItemMapper(Item::new)
+                .build();
+        // Content slots default to all slots.
+        assertEquals(18, panel.getPageSize());
+    }
+
+    private @NotNull PaginatedPanel.Builder<String> builder(final @NotNull DataSource<String> source) {
+        return new PaginatedPanel.Builder<String>()
+                .setRows(2)
+                .setDataSource(source)
+                .setContentSlots(0, 9)
+                .setItemMapper(Item::new)
+                .setLoadingItem(LOADING_ITEM)
+                .setPreviousPageButton(PREVIOUS, PREVIOUS_ITEM)
+                .setNextPageButton(NEXT, NEXT_ITEM);
+    }
+
+    // Asserts that content slots display (count) entries starting at (first), and that remaining content slots are empty.
+    private static void assertContents(final @NotNull PaginatedPanel<String> panel, final int first, final int count) {
+        for (int slot = 0; slot < 9; slot++)
+            assertEquals((slot < count) ? new Item(String.valueOf(first + slot)) : null, panel.getInventory().getItem(slot));
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.inventory;
+
+import cloud.grabsky.bedrock.inventory.FakeServer.Item;
+import cloud.grabsky.bedrock.inventory.Panel.ClickAction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PanelTest {
+
+    private final ClickAction first = (event) -> { /* EMPTY */ };
+    private final ClickAction second = (event) -> { /* EMPTY */ };
+
+    private BedrockPanel panel;
+
+    @BeforeEach
+    public void setup() {
+        FakeServer.install();
+        // ...
+        panel = new BedrockPanel.Builder().setRows(1).build();
+    }
+
+    @Test
+    public void firstRenderWritesNonEmptySlotsOnly() {
+        final Item item = new Item("a");
+        // ...
+        assertEquals(2, panel.render((frame) -> frame.setItem(0, item, first).setItem(4, new Item("b"), null)));
+        assertSame(item, panel.getInventory().getItem(0));
+        assertEquals(new Item("b"), panel.getInventory().getItem(4));
+        assertSame(first, panel.getAction(0));
+    }
+
+    @Test
+    public void unchangedSlotsAreNotWrittenAgain() {
+        panel.render((frame) -> frame.setItem(0, new Item("a"), null).setItem(4, new Item("b"), null));
+        // Items equal to these rendered before are skipped, even if they are different instances.
+        assertEquals(0, panel.render((frame) -> frame.setItem(0, new Item("a"), null).setItem(4, new Item("b"), null)));
+        assertEquals(1, panel.render((frame) -> frame.setItem(0, new Item("a"), null).setItem(4, new Item("c"), null)));
+        assertEquals(new Item("c"), panel.getInventory().getItem(4));
+    }
+
+    @Test
+    public void slotsNotSetByRendererAreCleared() {
+        panel.render((frame) -> frame.setItems(0, 9, new Item("a"), first));
+        // ...
+        assertEquals(8, panel.render((frame) -> frame.setItem(0, new Item("a"), first)));
+        assertNull(panel.getInventory().getItem(1));
+        assertNull(panel.getAction(1));
+        assertEquals(new Item("a"), panel.getInventory().getItem(0));
+    }
+
+    @Test
+    public void itemsChangedAfterRenderAreDetected() {
+        final Item item = new Item("a");
+        // ...
+        panel.render((frame) -> frame.setItem(0, item, null));
+        item.rename("b");
+        assertEquals(1, panel.render((frame) -> frame.setItem(0, item, null)));
+    }
+
+    @Test
+    public void actionsAreUpdatedWithoutWritingItems() {
+        panel.render((frame) -> frame.setItem(0, new Item("a"), first));
+        // ...
+        assertEquals(0, panel.render((frame) -> frame.setItem(0, new Item("a"), second)));
+        assertSame(second, panel.getAction(0));
+    }
+
+    @Test
+    public void slotsSetDirectlyAreWrittenUponNextRender() {
+        panel.render((frame) -> frame.setItem(0, new Item("a"), null).setItem(1, new Item("b"), null));
+        // Contents of slots set directly are unknown to the renderer, even if equal.
+        panel.setItem(0, new Item("a"), null);
+        panel.clear();
+        assertEquals(2, panel.render((frame) -> frame.setItem(0, new Item("a"), null).setItem(1, new Item("b"), null)));
+        // ...
+        panel.setItem(0, new Item("a"), null);
+        assertEquals(1, panel.render((frame) -> frame.setItem(0, new Item("a"), null).setItem(1, new Item("b"), null)));
+    }
+
+    @Test
+    public void renderingLaterRequiresListeners() {
+        assertThrows(IllegalStateException.class, () -> panel.renderLater((frame) -> frame.setItem(0, new Item("a"), null)));
+    }
+
+}
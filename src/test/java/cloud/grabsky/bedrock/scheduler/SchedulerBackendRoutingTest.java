@@ -0,0 +1,325 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.scheduler;
+
+import cloud.grabsky.bedrock.BedrockScheduler.AsyncBackend;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SchedulerBackendRoutingTest {
+
+    private static final Plugin PLUGIN = proxy(Plugin.class, (method) -> switch (method) {
+        case "getServer" -> proxy(Server.class, (serverMethod) -> (serverMethod.equals("getPluginManager") == true) ? proxy(PluginManager.class, (managerMethod) -> null) : null);
+        case "getLogger" -> Logger.getLogger("SchedulerBackendRoutingTest");
+        case "getName" -> "Test";
+        default -> null;
+    });
+
+    private static final Location LOCATION = new Location(null, 0.0D, 0.0D, 0.0D);
+
+    // Number of times the task has been executed.
+    private final AtomicInteger executions = new AtomicInteger();
+
+    // Number of times the retired callback has been executed.
+    private final AtomicInteger retirements = new AtomicInteger();
+
+    // Validity of the entity returned by entity(); flipped to simulate its removal.
+    private volatile boolean valid = true;
+
+    @Test
+    public void locationTasksAreExecutedByMainThreadWhenNotRegionized() {
+        final FakeBackend backend = new FakeBackend(false);
+        final SchedulerCore core = new SchedulerCore(PLUGIN, AsyncBackend.BUKKIT, backend);
+        // ...
+        core.schedule(LOCATION, 2L, -1L, this::execute, TaskOptions.DEFAULT);
+        // ...
+        assertTrue(backend.scheduled.isEmpty());
+        backend.tick();
+        assertEquals(0, executions.get());
+        backend.tick();
+        assertEquals(1, executions.get());
+        assertEquals(0, core.getPendingCount());
+    }
+
+    @Test
+    public void entityTasksAreStoppedOnceEntityIsRemovedWhenNotRegionized() {
+        final FakeBackend backend = new FakeBackend(false);
+        final SchedulerCore core = new SchedulerCore(PLUGIN, AsyncBackend.BUKKIT, backend);
+        // ...
+        final BedrockTask task = core.schedule(this.entity(), 1L, 1L, this::execute, retirements::incrementAndGet, TaskOptions.DEFAULT);
+        // ...
+        assertNotNull(task);
+        assertTrue(backend.scheduled.isEmpty());
+        backend.tick();
+        backend.tick();
+        assertEquals(2, executions.get());
+        // Removing the entity. Task is not executed again, and the callback is executed exactly once.
+        valid = false;
+        backend.tick();
+        backend.tick();
+        assertEquals(2, executions.get());
+        assertEquals(1, retirements.get());
+        assertTrue(task.isCancelled());
+        assertEquals(0, core.getPendingCount());
+    }
+
+    @Test
+    public void removedEntitiesAreNotScheduled() {
+        valid = false;
+        // ...
+        for (final boolean regionized : new boolean[] { false, true }) {
+            final FakeBackend backend = new FakeBackend(regionized);
+            final SchedulerCore core = new SchedulerCore(PLUGIN, AsyncBackend.BUKKIT, backend);
+            // ...
+            assertNull(core.schedule(this.entity(), 1L, -1L, this::execute, retirements::incrementAndGet, TaskOptions.DEFAULT));
+            assertTrue(backend.scheduled.isEmpty());
+            assertEquals(0, core.getPendingCount());
+        }
+        assertEquals(0, retirements.get());
+    }
+
+    @Test
+    public void locationTasksAreHandedToBackendWhenRegionized() {
+        final FakeBackend backend = new FakeBackend(true);
+        final SchedulerCore core = new SchedulerCore(PLUGIN, AsyncBackend.BUKKIT, backend);
+        // ...
+        core.schedule(LOCATION, 0L, 5L, (self) -> executions.incrementAndGet() < 2, TaskOptions.DEFAULT);
+        // ...
+        assertEquals(1, backend.scheduled.size());
+        final Scheduled scheduled = backend.scheduled.get(0);
+        assertSame(LOCATION, scheduled.target);
+        assertNull(scheduled.retired);
+        // Delays lower than 1 are executed on next tick.
+        assertEquals(1L, scheduled.delay);
+        assertEquals(5L, scheduled.period);
+        // Task is stopped by the backend once body returns false.
+        assertTrue(scheduled.task.getAsBoolean());
+        assertFalse(scheduled.task.getAsBoolean());
+        assertEquals(2, executions.get());
+        // Tasks handed to the backend are not counted.
+        assertEquals(0, core.getPendingCount());
+    }
+
+    @Test
+    public void entityTasksAreHandedToBackendWithRetiredCallbackWhenRegionized() {
+        final FakeBackend backend = new FakeBackend(true);
+        final SchedulerCore core = new SchedulerCore(PLUGIN, AsyncBackend.BUKKIT, backend);
+        final Entity entity = this.entity();
+        final Runnable retired = retirements::incrementAndGet;
+        // ...
+        final BedrockTask task = core.schedule(entity, 3L, 1L, this::execute, retired, TaskOptions.DEFAULT);
+        // ...
+        assertNotNull(task);
+        assertEquals(1, backend.scheduled.size());
+        final Scheduled scheduled = backend.scheduled.get(0);
+        assertSame(entity, scheduled.target);
+        assertSame(retired, scheduled.retired);
+        assertEquals(3L, scheduled.delay);
+        assertEquals(1L, scheduled.period);
+        // Entity is checked by the backend, not by the task itself.
+        assertTrue(scheduled.run());
+        valid = false;
+        assertFalse(scheduled.run());
+        assertEquals(1, executions.get());
+        assertEquals(1, retirements.get());
+    }
+
+    @Test
+    public void entityTasksRefusedByBackendAreNotReturned() {
+        final FakeBackend backend = new FakeBackend(true);
+        final SchedulerCore core = new SchedulerCore(PLUGIN, AsyncBackend.BUKKIT, backend);
+        // Entity is removed after it has been checked by the scheduler, but before it has been checked by the backend.
+        backend.refuse = true;
+        // ...
+        assertNull(core.schedule(this.entity(), 1L, 1L, this::execute, retirements::incrementAndGet, TaskOptions.DEFAULT));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    public void cancellingTaskCancelsItsHandle() {
+        final FakeBackend backend = new FakeBackend(true);
+        final SchedulerCore core = new SchedulerCore(PLUGIN, AsyncBackend.BUKKIT, backend);
+        // ...
+        final BedrockTask task = core.schedule(LOCATION, 1L, 1L, this::execute, TaskOptions.DEFAULT);
+        task.cancel();
+        // ...
+        final Scheduled scheduled = backend.scheduled.get(0);
+        assertTrue(scheduled.cancelled);
+        // Execution which has been queued already is skipped.
+        assertFalse(scheduled.task.getAsBoolean());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    public void tasksHandedToBackendAreStoppedOnShutdown() {
+        final FakeBackend backend = new FakeBackend(true);
+        final SchedulerCore core = new SchedulerCore(PLUGIN, AsyncBackend.BUKKIT, backend);
+        // ...
+        final BedrockTask task = core.schedule(LOCATION, 1L, 1L, this::execute, TaskOptions.DEFAULT);
+        core.shutdown();
+        // Backend knows nothing about the shutdown; task stops itself on its next execution.
+        assertFalse(backend.scheduled.get(0).task.getAsBoolean());
+        assertEquals(0, executions.get());
+        assertTrue(task.isCancelled());
+    }
+
+    private boolean execute(final @NotNull BedrockTask self) {
+        executions.incrementAndGet();
+        return true;
+    }
+
+    private @NotNull Entity entity() {
+        return proxy(Entity.class, (method) -> (method.equals("isValid") == true) ? valid : null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> @NotNull T proxy(final @NotNull Class<T> type, final @NotNull Function<String, Object> handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> type.getSimpleName();
+            default -> handler.apply(method.getName());
+        });
+    }
+
+    /**
+     * {@link SchedulerBackend} which records tasks instead of executing them. Global timer is driven by {@link FakeBackend#tick()}.
+     */
+    private static final class FakeBackend implements SchedulerBackend {
+
+        private final boolean regionized;
+
+        // Tasks passed to runAt and runOn, in order.
+        private final List<Scheduled> scheduled = new ArrayList<>();
+
+        // Task passed to runGlobalTimer, or null.
+        private @Nullable Runnable globalTimer;
+
+        // Whether runOn should behave as if the entity has been removed.
+        private boolean refuse;
+
+        private FakeBackend(final boolean regionized) {
+            this.regionized = regionized;
+        }
+
+        public void tick() {
+            if (globalTimer != null)
+                globalTimer.run();
+        }
+
+        @Override
+        public boolean isRegionized() {
+            return regionized;
+        }
+
+        @Override
+        public boolean isGlobalThread() {
+            return true;
+        }
+
+        @Override
+        public @NotNull Handle runGlobalTimer(final @NotNull Runnable task, final long delay, final long period) {
+            this.globalTimer = task;
+            return () -> globalTimer = null;
+        }
+
+        @Override
+        public @NotNull Handle runAsyncTimer(final @NotNull Runnable task, final long delay, final long period) {
+            return () -> { /* EMPTY */ };
+        }
+
+        @Override
+        public @NotNull Handle runAt(final @NotNull Location location, final @NotNull BooleanSupplier task, final long delay, final long period) {
+            final Scheduled scheduled = new Scheduled(location, task, null, delay, period);
+            this.scheduled.add(scheduled);
+            return () -> scheduled.cancelled = true;
+        }
+
+        @Override
+        public @Nullable Handle runOn(final @NotNull Entity entity, final @NotNull BooleanSupplier task, final @Nullable Runnable retired, final long delay, final long period) {
+            if (refuse == true || entity.isValid() == false)
+                return null;
+            // ...
+            final Scheduled scheduled = new Scheduled(entity, task, retired, delay, period);
+            this.scheduled.add(scheduled);
+            return () -> scheduled.cancelled = true;
+        }
+
+    }
+
+    private static final class Scheduled {
+
+        private final @NotNull Object target;
+        private final @NotNull BooleanSupplier task;
+        private final @Nullable Runnable retired;
+        private final long delay;
+        private final long period;
+
+        private boolean cancelled;
+
+        private Scheduled(final @NotNull Object target, final @NotNull BooleanSupplier task, final @Nullable Runnable retired, final long delay, final long period) {
+            this.target = target;
+            this.task = task;
+            this.retired = retired;
+            this.delay = delay;
+            this.period = period;
+        }
+
+        /**
+         * Executes the task the way entity scheduler of Folia does; {@code (retired)} is executed instead once the entity is removed.
+         */
+        public boolean run() {
+            if (target instanceof Entity entity && entity.isValid() == false) {
+                if (retired != null)
+                    retired.run();
+                return false;
+            }
+            return task.getAsBoolean();
+        }
+
+    }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimingWheelTest {
+
+    private static final Plugin PLUGIN = (Plugin) Proxy.newProxyInstance(Plugin.class.getClassLoader(), new Class<?>[] { Plugin.class }, (proxy, method, args) -> null);
+
+    private final TimingWheel wheel = new TimingWheel();
+
+    // Tasks passed to the consumer, in order.
+    private final List<BedrockTask> executed = new ArrayList<>();
+
+    // Ticks tasks have been passed to the consumer at, in order.
+    private final List<Long> ticks = new ArrayList<>();
+
+    @Test
+    public void tasksDueAtTheSameTickAreExecutedInOrderOfCreation() {
+        final List<BedrockTask> tasks = tasks(5);
+        // ...
+        for (final BedrockTask task : tasks)
+            wheel.schedule(task, 3L);
+        this.advance(3);
+        // ...
+        assertEquals(tasks, executed);
+        assertEquals(List.of(3L, 3L, 3L, 3L, 3L), ticks);
+    }
+
+    @Test
+    public void tasksScheduledInReverseAreExecutedInOrderOfCreation() {
+        final List<BedrockTask> tasks = tasks(5);
+        // ...
+        for (int i = tasks.size() - 1; i >= 0; i--)
+            wheel.schedule(tasks.get(i), 3L);
+        this.advance(3);
+        // ...
+        assertEquals(tasks, executed);
+    }
+
+    @Test
+    public void tasksAreExecutedAtTheirDeadlinesAcrossLevels() {
+        // Deadlines around boundaries of each level.
+        final long[] deadlines = { 1L, 63L, 64L, 65L, 4095L, 4096L, 4097L, 262143L, 262144L, 262145L, 300000L };
+        // ...
+        for (final long deadline : deadlines)
+            wheel.schedule(task(), deadline);
+        this.advance(300000);
+        // ...
+        assertEquals(deadlines.length, ticks.size());
+        for (int i = 0; i < deadlines.length; i++)
+            assertEquals(deadlines[i], (long) ticks.get(i));
+        assertEquals(0, wheel.getSize());
+    }
+
+    @Test
+    public void cascadedTasksAreExecutedBeforeNewerTasksOfTheSameTick() {
+        final BedrockTask older = task();
+        final BedrockTask newer = task();
+        // Older task is linked to level 1, and moved down to level 0 at tick 64.
+        wheel.schedule(older, 100L);
+        this.advance(40);
+        // Newer task is linked to level 0 directly, before the older one is moved down next to it.
+        wheel.schedule(newer, 100L);
+        this.advance(60);
+        // ...
+        assertEquals(List.of(older, newer), executed);
+        assertEquals(List.of(100L, 100L), ticks);
+    }
+
+    @Test
+    public void cancelledTasksAreNotExecuted() {
+        final List<BedrockTask> tasks = tasks(3);
+        // ...
+        for (final BedrockTask task : tasks)
+            wheel.schedule(task, 5L);
+        // Cancelling one task before it's linked, and another after.
+        tasks.get(0).cancel();
+        this.advance(1);
+        tasks.get(2).cancel();
+        this.advance(4);
+        // ...
+        assertEquals(List.of(tasks.get(1)), executed);
+        assertEquals(0, wheel.getSize());
+    }
+
+    @Test
+    public void rescheduledTasksAreExecutedAgain() {
+        final BedrockTask task = task();
+        // ...
+        wheel.schedule(task, 1L);
+        // Re-scheduling the task each time it's executed, the same way repeating tasks are.
+        for (int i = 0; i < 7; i++)
+            wheel.advance((current) -> {
+                ticks.add(wheel.getTick());
+                wheel.reschedule(current, wheel.getTick() + 2L);
+            });
+        // ...
+        assertEquals(List.of(1L, 3L, 5L, 7L), ticks);
+        assertEquals(1, wheel.getSize());
+    }
+
+    @Test
+    public void clearedTasksAreMarkedAsDone() {
+        final List<BedrockTask> tasks = tasks(2);
+        // One task is linked, and another one is still waiting in the queue.
+        wheel.schedule(tasks.get(0), 10L);
+        this.advance(1);
+        wheel.schedule(tasks.get(1), 10L);
+        wheel.clear();
+        // ...
+        assertTrue(tasks.get(0).isCancelled());
+        assertTrue(tasks.get(1).isCancelled());
+        assertEquals(0, wheel.getSize());
+    }
+
+    private void advance(final int count) {
+        for (int i = 0; i < count; i++)
+            wheel.advance((task) -> {
+                executed.add(task);
+                ticks.add(wheel.getTick());
+            });
+    }
+
+    private static @NotNull BedrockTask task() {
+        return new BedrockTask(PLUGIN, true, 0L, Priority.NORMAL, (self) -> false);
+    }
+
+    private static @NotNull List<BedrockTask> tasks(final int count) {
+        final List<BedrockTask> tasks = new ArrayList<>();
+        // ...
+        for (int i = 0; i < count; i++)
+            tasks.add(task());
+        return tasks;
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Grabsky <44530932+Grabsky@users.noreply.github.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * HORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package cloud.grabsky.bedrock.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StringReplacerTest {
+
+    @Test
+    public void allTargetsAreReplaced() {
+        final StringReplacer replacer = StringReplacer.of("{name}", "{count}");
+        // ...
+        assertEquals("Hello Grabsky, you have 3 messages. Bye Grabsky!", replacer.replace("Hello {name}, you have {count} messages. Bye {name}!", "Grabsky", "3"));
+    }
+
+    @Test
+    public void longestTargetIsReplacedAtTheSamePosition() {
+        final StringReplacer replacer = StringReplacer.of("ab", "abc", "b");
+        // ...
+        assertEquals("YX", replacer.replace("abcab", "X", "Y", "Z"));
+    }
+
+    @Test
+    public void leftmostTargetIsReplacedFirst() {
+        final StringReplacer replacer = StringReplacer.of("bcd", "ab");
+        // Longer target starting later is not considered, as it overlaps with the leftmost one.
+        assertEquals("Ycd", replacer.replace("abcd", "X", "Y"));
+    }
+
+    @Test
+    public void partialMatchesAreSkipped() {
+        final StringReplacer replacer = StringReplacer.of("abcd");
+        // ...
+        assertEquals("abcX", replacer.replace("abcabcd", "X"));
+        assertEquals("abc", replacer.replace("abc", "X"));
+    }
+
+    @Test
+    public void overlappingTargetsAreMatchedRegardlessOfOrder() {
+        final StringReplacer replacer = StringReplacer.of("a", "ab");
+        // Chained String#replace calls would produce "Xb" here, as "a" is replaced before "ab" is looked for.
+        assertEquals("Y", replacer.replace("ab", "X", "Y"));
+    }
+
+    @Test
+    public void replacedTextIsNotScannedAgain() {
+        final StringReplacer replacer = StringReplacer.of("a", "b");
+        // Chained String#replace calls would produce "cc" here.
+        assertEquals("bc", replacer.replace("ab", "b", "c"));
+    }
+
+    @Test
+    public void firstOfDuplicatedTargetsIsUsed() {
+        assertEquals("1", StringReplacer.of("x", "x").replace("x", "1", "2"));
+    }
+
+    @Test
+    public void inputWithoutMatchesIsReturnedAsIs() {
+        final String input = "Nothing to replace here.";
+        // ...
+        assertSame(input, StringReplacer.of("{name}").replace(input, "Grabsky"));
+    }
+
+    @Test
+    public void matchesReportsPresenceOfAnyTarget() {
+        final StringReplacer replacer = StringReplacer.of("{name}", "{count}");
+        // ...
+        assertTrue(replacer.matches("You have {count} messages."));
+        assertFalse(replacer.matches("You have {coun} messages."));
+    }
+
+    @Test
+    public void invalidArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> StringReplacer.of("a", ""));
+        assertThrows(IllegalArgumentException.class, () -> StringReplacer.of("a", "b").replace("ab", "1"));
+    }
+
+    @Test
+    public void compiledInstancesAreCached() {
+        assertSame(StringReplacer.of("{first}", "{second}"), StringReplacer.of("{first}", "{second}"));
+    }
+
+}